@@ -0,0 +1,77 @@
+package com.hotel.reservation.benchmark;
+
+import com.hotel.reservation.entity.Role;
+import com.hotel.reservation.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of authenticating one request's JWT: through JwtTokenProvider.verify for a token
+ * already in the verified-token cache, for a cold token with the cache sized to nothing, and,
+ * as the baseline, the way the provider used to do it, building the key and parser for the
+ * validity check and again for reading the subject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationAndValidationMustBeLongEnoughForHS256Algorithm";
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider coldProvider;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void createProviders() {
+        cachingProvider = provider(10000);
+        coldProvider = provider(0);
+        token = cachingProvider.generateTokenFromUsername("benchmark", Role.USER);
+        cachingProvider.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedToken() {
+        return cachingProvider.verify(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> coldToken() {
+        return coldProvider.verify(token);
+    }
+
+    @Benchmark
+    public String rebuiltKeyAndParser() {
+        SecretKey validationKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parser().verifyWith(validationKey).build().parseSignedClaims(token);
+
+        SecretKey subjectKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(subjectKey).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    private static JwtTokenProvider provider(int verifiedCacheEntries) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(provider, "maxVerifiedTokens", verifiedCacheEntries);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,118 @@
+package com.hotel.reservation.benchmark;
+
+import com.hotel.reservation.HotelReservationApplication;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.repository.GuestRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.service.ReservationBookingPipeline;
+import com.hotel.reservation.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking throughput of 32 concurrent callers through the synchronous path and through the
+ * group-commit pipeline, against the in-memory test database. Every caller books consecutive
+ * one-night stays in a room of its own, so no request is rejected and both paths do the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class ReservationBookingBenchmark {
+
+    @Param({"synchronous", "pipeline"})
+    private String path;
+
+    private final AtomicInteger nextRoom = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private ReservationBookingPipeline pipeline;
+    private Long guestId;
+    private List<Long> roomIds;
+
+    @Setup(Level.Trial)
+    public void startApplication(BenchmarkParams params) {
+        context = new SpringApplicationBuilder(HotelReservationApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments, since default properties would lose to application.properties
+                .run("--reservation.pipeline.enabled=true", "--reservation.pipeline.writers=2",
+                        "--reservation.pipeline.batch-size=100", "--logging.level.root=WARN");
+        reservationService = context.getBean(ReservationService.class);
+        pipeline = context.getBean(ReservationBookingPipeline.class);
+
+        Guest guest = new Guest();
+        guest.setFirstName("Benchmark");
+        guest.setLastName("Guest");
+        guest.setEmail("benchmark@example.com");
+        guest.setPhoneNumber("7700000000");
+        guestId = context.getBean(GuestRepository.class).save(guest).getId();
+
+        // One room per caller thread
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        roomIds = new ArrayList<>();
+        for (int i = 0; i < params.getThreads(); i++) {
+            Room room = new Room();
+            room.setRoomNumber("P" + i);
+            room.setRoomType(RoomType.DOUBLE);
+            room.setPrice(new BigDecimal("120.00"));
+            room.setCapacity(2);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * One caller's room and the next night it books.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private Long roomId;
+        private LocalDate nextNight;
+
+        @Setup(Level.Trial)
+        public void takeRoom(ReservationBookingBenchmark benchmark) {
+            roomId = benchmark.roomIds.get(benchmark.nextRoom.getAndIncrement());
+            nextNight = LocalDate.now().plusDays(1);
+        }
+    }
+
+    @Benchmark
+    public ReservationResponse book(Caller caller) {
+        LocalDate night = caller.nextNight;
+        caller.nextNight = night.plusDays(1);
+        ReservationRequest request = new ReservationRequest(guestId, caller.roomId, night, night.plusDays(1),
+                1, 1, null, null, null, null);
+        return "pipeline".equals(path) ? pipeline.book(request) : reservationService.createReservation(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.reservation.benchmark;
+
+import com.hotel.reservation.HotelReservationApplication;
+import com.hotel.reservation.dto.RoomDTO;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of RoomServiceImpl.getRoomById with the room DTO cache enabled and with it sized to
+ * nothing, against the in-memory test database. Without the cache every call reads the room
+ * and its gallery; the Hibernate second-level cache still serves the room row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomServiceBenchmark {
+
+    private static final int ROOMS = 100;
+
+    @Param({"10000", "0"})
+    private int roomCacheEntries;
+
+    private ConfigurableApplicationContext context;
+    private RoomService roomService;
+    private List<Long> roomIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(HotelReservationApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments, since default properties would lose to application.properties
+                .run("--rooms.cache.max-entries=" + roomCacheEntries, "--logging.level.root=WARN");
+        roomService = context.getBean(RoomService.class);
+
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber("B" + i);
+            room.setRoomType(RoomType.DOUBLE);
+            room.setPrice(new BigDecimal("120.00"));
+            room.setCapacity(2);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public RoomDTO getRoomById() {
+        next = (next + 1) % ROOMS;
+        return roomService.getRoomById(roomIds.get(next));
+    }
+}
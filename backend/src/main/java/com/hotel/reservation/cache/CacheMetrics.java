@@ -0,0 +1,41 @@
+package com.hotel.reservation.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes the counters of a cache as Micrometer meters,
+ * using the same meter names as Micrometer's built-in cache binders.
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    /**
+     * Register the hit, miss, eviction and size meters of a cache.
+     *
+     * @param registry the meter registry
+     * @param name the cache name, added as the "cache" tag
+     * @param cache the cache
+     */
+    public static void bind(MeterRegistry registry, String name, CacheStatistics cache) {
+        FunctionCounter.builder("cache.gets", cache, CacheStatistics::hits)
+                .tags("cache", name, "result", "hit")
+                .description("The number of times a cache lookup returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, CacheStatistics::misses)
+                .tags("cache", name, "result", "miss")
+                .description("The number of times a cache lookup found no cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, CacheStatistics::evictions)
+                .tags("cache", name)
+                .description("The number of entries evicted to stay within the size bound")
+                .register(registry);
+        Gauge.builder("cache.size", cache, CacheStatistics::size)
+                .tags("cache", name)
+                .description("The number of entries in the cache")
+                .register(registry);
+    }
+}
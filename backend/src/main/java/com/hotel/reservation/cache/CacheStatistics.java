@@ -0,0 +1,27 @@
+package com.hotel.reservation.cache;
+
+/**
+ * Counters a cache exposes so that {@link CacheMetrics} can publish them.
+ */
+public interface CacheStatistics {
+
+    /**
+     * @return the number of lookups that returned a cached value
+     */
+    long hits();
+
+    /**
+     * @return the number of lookups that found no cached value
+     */
+    long misses();
+
+    /**
+     * @return the number of entries evicted to stay within the size bound
+     */
+    long evictions();
+
+    /**
+     * @return the number of entries currently cached
+     */
+    int size();
+}
@@ -0,0 +1,125 @@
+package com.hotel.reservation.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe LRU cache of byte content held in direct buffers, outside the Java heap,
+ * bounded by the total number of bytes it holds. Cached content adds no garbage collection
+ * work, and the memory of an evicted buffer is released once the buffer is collected.
+ *
+ * @param <K> the key type
+ */
+public class DirectBufferCache<K> implements CacheStatistics {
+
+    private final long maxBytes;
+    private final LinkedHashMap<K, ByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Create a cache holding at most the given number of bytes.
+     *
+     * @param maxBytes the memory budget in bytes
+     */
+    public DirectBufferCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get cached content, counting a hit or a miss.
+     *
+     * @param key the key
+     * @return a read-only view of the content with its own position, or null if absent
+     */
+    public synchronized ByteBuffer get(K key) {
+        ByteBuffer buffer = entries.get(key);
+        if (buffer == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Cache content held in a direct buffer, evicting the least recently used entries
+     * until it fits. The cache takes over the buffer, which must not be modified afterwards.
+     * Content larger than the whole budget is not cached.
+     *
+     * @param key the key
+     * @param buffer the content, from position zero to its limit
+     * @return true if the content was cached
+     */
+    public synchronized boolean put(K key, ByteBuffer buffer) {
+        int length = buffer.limit();
+        if (length > maxBytes) {
+            return false;
+        }
+        ByteBuffer previous = entries.put(key, buffer);
+        if (previous != null) {
+            usedBytes -= previous.limit();
+        }
+        usedBytes += length;
+        Iterator<Map.Entry<K, ByteBuffer>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<K, ByteBuffer> entry = eldest.next();
+            if (entry.getValue() != buffer) {
+                usedBytes -= entry.getValue().limit();
+                eldest.remove();
+                evictions++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove every entry whose key matches a predicate.
+     *
+     * @param predicate the predicate over keys
+     * @return the number of removed entries
+     */
+    public synchronized int removeIf(Predicate<K> predicate) {
+        int removed = 0;
+        Iterator<Map.Entry<K, ByteBuffer>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, ByteBuffer> entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                usedBytes -= entry.getValue().limit();
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long hits() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long misses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long evictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,158 @@
+package com.hotel.reservation.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Thread-safe, size-bounded LRU cache whose entries can also expire.
+ * When full, the least recently used entry is evicted. Expired entries are dropped
+ * lazily when they are read. Hit, miss and eviction counts are tracked for metrics.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringLruCache<K, V> implements CacheStatistics {
+
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final int maxEntries;
+    private final long defaultTtlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+
+    /**
+     * Create a cache whose entries never expire unless given an explicit expiry time.
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    public ExpiringLruCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Create a cache with a default time to live for its entries.
+     *
+     * @param maxEntries the maximum number of entries
+     * @param defaultTtl the default time to live, or null for no expiry
+     */
+    public ExpiringLruCache(int maxEntries, Duration defaultTtl) {
+        this.maxEntries = maxEntries;
+        this.defaultTtlMillis = defaultTtl != null ? defaultTtl.toMillis() : NO_EXPIRY;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringLruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a value, counting a hit or a miss.
+     *
+     * @param key the key
+     * @return the cached value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    /**
+     * Put a value that expires after the default time to live.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        long expiresAt = defaultTtlMillis == NO_EXPIRY ? NO_EXPIRY : System.currentTimeMillis() + defaultTtlMillis;
+        put(key, value, expiresAt);
+    }
+
+    /**
+     * Put a value that expires at a given time.
+     *
+     * @param key the key
+     * @param value the value
+     * @param expiresAtMillis the expiry time in epoch milliseconds
+     */
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * Remove a single entry.
+     *
+     * @param key the key
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove every entry matching a predicate.
+     *
+     * @param predicate the predicate over keys and values
+     * @return the number of removed entries
+     */
+    public synchronized int removeIf(BiPredicate<K, V> predicate) {
+        int removed = 0;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value())) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long hits() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long misses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long evictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * In-memory caching utilities for the Hotel Reservation System.
+ * Contains bounded caches used to avoid repeated database and disk work.
+ */
+package com.hotel.reservation.cache;
@@ -0,0 +1,12 @@
+package com.hotel.reservation.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the nightly availability index rebuild.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,13 +2,22 @@ package com.hotel.reservation.controller;
 
 import com.hotel.reservation.dto.GuestDTO;
 import com.hotel.reservation.dto.GuestRequest;
+import com.hotel.reservation.dto.ImportResultDTO;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
+import com.hotel.reservation.export.ExportFormat;
+import com.hotel.reservation.service.BulkImportService;
 import com.hotel.reservation.service.GuestService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -20,10 +29,12 @@ import java.util.List;
 public class GuestController {
 
     private final GuestService guestService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public GuestController(GuestService guestService) {
+    public GuestController(GuestService guestService, BulkImportService bulkImportService) {
         this.guestService = guestService;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
@@ -49,6 +60,56 @@ public class GuestController {
         return ResponseEntity.ok(guests);
     }
 
+    /**
+     * Get one page of guests using keyset pagination.
+     *
+     * @param limit the maximum number of guests to return
+     * @param after the nextCursor of the previous page, if any
+     * @param sort  the field to sort by, prefixed with "-" for descending order
+     * @return the page of guests and the cursor of the next page
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<KeysetPage<GuestDTO>> getGuestsPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<GuestDTO> page = guestService.getGuestsPage(new KeysetPageRequest(limit, after, sort));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Export all guests, streamed from the database as they are written.
+     *
+     * @param format the export format, "ndjson" or "csv"
+     * @return the streaming export body
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportGuests(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> guestService.exportGuests(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"guests." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Bulk import guests from an NDJSON or CSV request body.
+     *
+     * @param format the upload format, "ndjson" or "csv"
+     * @param body the request body, read as a stream
+     * @return the import summary
+     * @throws IOException if the request body could not be read
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResultDTO> importGuests(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        ImportResultDTO result = bulkImportService.importGuests(ExportFormat.from(format), body);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get guest by ID.
      *
@@ -1,23 +1,41 @@
 package com.hotel.reservation.controller;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import com.hotel.reservation.service.HotImageCache;
+import com.hotel.reservation.service.ImageStorageService;
+import com.hotel.reservation.service.ImageVariantService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Globals;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * REST Controller for image upload and retrieval operations.
@@ -27,14 +45,35 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class ImageController {
 
-    private final Path uploadDir = Paths.get("/app/uploads");
+    private static final String DEFAULT_CONTENT_TYPE = MediaType.APPLICATION_OCTET_STREAM_VALUE;
 
-    public ImageController() {
-        try {
-            Files.createDirectories(uploadDir);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create upload directory!", e);
-        }
+    // Content types by file extension, so serving an image never has to probe the file
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", MediaType.IMAGE_JPEG_VALUE,
+            "jpeg", MediaType.IMAGE_JPEG_VALUE,
+            "png", MediaType.IMAGE_PNG_VALUE,
+            "gif", MediaType.IMAGE_GIF_VALUE,
+            "webp", "image/webp",
+            "avif", "image/avif",
+            "bmp", "image/bmp",
+            "svg", "image/svg+xml",
+            "ico", "image/x-icon");
+
+    private static final CacheControl IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl PENDING_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private final ImageStorageService imageStorageService;
+    private final ImageVariantService imageVariantService;
+    private final HotImageCache hotImageCache;
+
+    @Autowired
+    public ImageController(ImageStorageService imageStorageService,
+                           ImageVariantService imageVariantService,
+                           HotImageCache hotImageCache) {
+        this.imageStorageService = imageStorageService;
+        this.imageVariantService = imageVariantService;
+        this.hotImageCache = hotImageCache;
     }
 
     @PostMapping("/upload")
@@ -50,22 +89,19 @@ public class ImageController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Only image files are allowed"));
             }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".") 
-                ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
-                : ".jpg";
-            String filename = UUID.randomUUID().toString() + extension;
+            // Store by content, so re-uploading the same photo reuses the existing file
+            ImageStorageService.StoredImage stored =
+                imageStorageService.store(file.getInputStream(), file.getOriginalFilename());
 
-            // Save file
-            Path targetLocation = uploadDir.resolve(filename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            // Resized variants are produced in the background; the original is served until they exist
+            imageVariantService.generateAsync(stored.file());
 
             // Return URL
-            String imageUrl = "/api/images/" + filename;
+            String imageUrl = "/api/images/" + stored.filename();
             Map<String, String> response = new HashMap<>();
             response.put("url", imageUrl);
-            response.put("filename", filename);
+            response.put("filename", stored.filename());
+            response.put("deduplicated", String.valueOf(stored.deduplicated()));
             response.put("message", "Image uploaded successfully");
 
             return ResponseEntity.ok(response);
@@ -76,43 +112,146 @@ public class ImageController {
         }
     }
 
+    /**
+     * Get an image, optionally as a downscaled variant.
+     * Stored images never change, so responses are cacheable forever and revalidate with
+     * an ETag built from the file size and modification time. Single byte ranges are
+     * supported. Small images are written from an off-heap memory cache; larger ones are
+     * sent with sendfile where the container supports it.
+     *
+     * @param filename the stored filename
+     * @param w the display width in pixels; the smallest variant at least this wide is served
+     * @param request the current request
+     * @param response the current response
+     * @throws IOException if the image could not be sent
+     */
     @GetMapping("/{filename:.+}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) {
+    public void getImage(@PathVariable String filename,
+                         @RequestParam(required = false) Integer w,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Path original = imageStorageService.locate(filename).orElse(null);
+        if (original == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        ImageVariantService.ResolvedImage image = imageVariantService.resolve(original, w);
+
+        BasicFileAttributes attributes;
         try {
-            Path filePath = uploadDir.resolve(filename).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+            attributes = Files.readAttributes(image.file(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
 
-            if (!resource.exists() || !resource.isReadable()) {
-                return ResponseEntity.notFound().build();
-            }
+        // The original only stands in for a variant until it is generated, so it must not be kept
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (image.pending() ? PENDING_CACHE_CONTROL : IMMUTABLE_CACHE_CONTROL).getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
 
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
+        long start = 0;
+        long end = length;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(eTag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length) + 1;
+                    if (start >= length || start >= end) {
+                        throw new IllegalArgumentException("Range starts after the end of the image");
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            // Multiple ranges are rare for images; the whole file is sent instead, which the spec allows
+            if (ranges.size() == 1) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
             }
+        }
 
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+        String name = image.file().getFileName().toString();
+        response.setContentType(contentType(name));
+        response.setContentLengthLong(end - start);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + name + "\"");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
 
-        } catch (MalformedURLException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        ByteBuffer cached = hotImageCache.get(image.file(), length, lastModified);
+        if (cached != null) {
+            write(cached.slice((int) start, (int) (end - start)), response.getOutputStream());
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            // Tomcat writes the file from the page cache straight to the socket once this handler returns
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, image.file().toAbsolutePath().toString());
+            request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+            request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(image.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
         }
     }
 
     @DeleteMapping("/{filename:.+}")
     public ResponseEntity<Map<String, String>> deleteImage(@PathVariable String filename) {
         try {
-            Path filePath = uploadDir.resolve(filename).normalize();
-            Files.deleteIfExists(filePath);
+            Path original = imageStorageService.locate(filename).orElse(null);
+            imageStorageService.delete(filename);
+            if (original != null) {
+                List<Path> files = new ArrayList<>(imageVariantService.variantsOf(original));
+                files.add(original);
+                hotImageCache.invalidate(files);
+            }
             return ResponseEntity.ok(Map.of("message", "Image deleted successfully"));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to delete image: " + e.getMessage()));
         }
     }
+
+    /**
+     * Write a buffer to the response. Tomcat's own stream accepts buffers directly;
+     * wrapped streams are written through a channel.
+     */
+    private static void write(ByteBuffer content, ServletOutputStream out) throws IOException {
+        if (out instanceof CoyoteOutputStream coyote) {
+            coyote.write(content);
+            return;
+        }
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (content.hasRemaining()) {
+            channel.write(content);
+        }
+    }
+
+    private static String contentType(String filename) {
+        int dot = filename.lastIndexOf('.');
+        String extension = dot >= 0 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return CONTENT_TYPES.getOrDefault(extension, DEFAULT_CONTENT_TYPE);
+    }
 }
@@ -0,0 +1,45 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.dto.OccupancyReportDTO;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for management reports.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @Autowired
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    /**
+     * Get daily occupancy, average daily rate (ADR) and revenue per available room (RevPAR)
+     * over a date range, for the whole hotel and per room type.
+     *
+     * @param from     the first night of the report
+     * @param to       the end of the report (exclusive)
+     * @param roomType optional room type to restrict the report to
+     * @return the occupancy and revenue report
+     */
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyReportDTO> getOccupancyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) RoomType roomType) {
+        OccupancyReportDTO report = reportService.getOccupancyReport(from, to, roomType);
+        return ResponseEntity.ok(report);
+    }
+}
@@ -1,15 +1,26 @@
 package com.hotel.reservation.controller;
 
+import com.hotel.reservation.dto.ImportResultDTO;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.dto.ReservationDTO;
 import com.hotel.reservation.dto.ReservationRequest;
 import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.export.ExportFormat;
+import com.hotel.reservation.service.BulkImportService;
+import com.hotel.reservation.service.IdempotencyService;
+import com.hotel.reservation.service.ReservationBookingPipeline;
 import com.hotel.reservation.service.ReservationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -21,21 +32,43 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ReservationBookingPipeline bookingPipeline;
+    private final IdempotencyService idempotencyService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService,
+                                 ReservationBookingPipeline bookingPipeline,
+                                 IdempotencyService idempotencyService,
+                                 BulkImportService bulkImportService) {
         this.reservationService = reservationService;
+        this.bookingPipeline = bookingPipeline;
+        this.idempotencyService = idempotencyService;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
      * Create a new reservation.
+     * Retries carrying the same Idempotency-Key header return the original response.
      *
-     * @param request the reservation request
+     * @param request        the reservation request
+     * @param idempotencyKey optional client-generated key identifying this booking attempt
      * @return the created reservation response
      */
     @PostMapping
-    public ResponseEntity<ReservationResponse> createReservation(@Valid @RequestBody ReservationRequest request) {
-        ReservationResponse createdReservation = reservationService.createReservation(request);
+    public ResponseEntity<ReservationResponse> createReservation(
+            @Valid @RequestBody ReservationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(book(request), HttpStatus.CREATED);
+        }
+        // The key and request hash are stored on the reservation, so a retry finds a booking whose response was lost
+        request.setIdempotencyKey(idempotencyKey);
+        ReservationResponse createdReservation = idempotencyService.execute(idempotencyKey, request,
+                ReservationResponse.class, requestHash -> {
+                    request.setIdempotencyRequestHash(requestHash);
+                    return book(request);
+                }, reservationService::findCreatedReservation);
         return new ResponseEntity<>(createdReservation, HttpStatus.CREATED);
     }
 
@@ -50,6 +83,56 @@ public class ReservationController {
         return ResponseEntity.ok(reservations);
     }
 
+    /**
+     * Get one page of reservations using keyset pagination.
+     *
+     * @param limit the maximum number of reservations to return
+     * @param after the nextCursor of the previous page, if any
+     * @param sort  the field to sort by, prefixed with "-" for descending order
+     * @return the page of reservations and the cursor of the next page
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<KeysetPage<ReservationDTO>> getReservationsPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<ReservationDTO> page = reservationService.getReservationsPage(new KeysetPageRequest(limit, after, sort));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Export all reservations, streamed from the database as they are written.
+     *
+     * @param format the export format, "ndjson" or "csv"
+     * @return the streaming export body
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> reservationService.exportReservations(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservations." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Bulk import reservations from an NDJSON or CSV request body.
+     *
+     * @param format the upload format, "ndjson" or "csv"
+     * @param body the request body, read as a stream
+     * @return the import summary
+     * @throws IOException if the request body could not be read
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResultDTO> importReservations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        ImportResultDTO result = bulkImportService.importReservations(ExportFormat.from(format), body);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get reservation by ID.
      *
@@ -124,4 +207,10 @@ public class ReservationController {
         List<ReservationDTO> reservations = reservationService.getReservationsByGuest(guestId);
         return ResponseEntity.ok(reservations);
     }
+
+    private ReservationResponse book(ReservationRequest request) {
+        return bookingPipeline.isEnabled()
+                ? bookingPipeline.book(request)
+                : reservationService.createReservation(request);
+    }
 }
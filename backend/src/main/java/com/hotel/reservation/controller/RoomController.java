@@ -1,15 +1,35 @@
 package com.hotel.reservation.controller;
 
+import com.hotel.reservation.dto.AvailabilityCalendarDTO;
+import com.hotel.reservation.dto.HoldRequest;
+import com.hotel.reservation.dto.HoldResponse;
+import com.hotel.reservation.dto.ImportResultDTO;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.dto.RoomDTO;
+import com.hotel.reservation.dto.RoomImageDTO;
+import com.hotel.reservation.dto.RoomImageOrderRequest;
+import com.hotel.reservation.dto.RoomImagesRequest;
 import com.hotel.reservation.dto.RoomSearchCriteria;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.export.ExportFormat;
+import com.hotel.reservation.service.BulkImportService;
+import com.hotel.reservation.service.RoomCatalogVersion;
+import com.hotel.reservation.service.RoomImageService;
 import com.hotel.reservation.service.RoomService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,10 +42,25 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final RoomImageService roomImageService;
+    private final BulkImportService bulkImportService;
+    private final RoomCatalogVersion catalogVersion;
+    private final CacheControl catalogCacheControl;
 
     @Autowired
-    public RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService,
+                          RoomImageService roomImageService,
+                          BulkImportService bulkImportService,
+                          RoomCatalogVersion catalogVersion,
+                          @Value("${rooms.catalog.max-age-seconds:0}") long catalogMaxAgeSeconds) {
         this.roomService = roomService;
+        this.roomImageService = roomImageService;
+        this.bulkImportService = bulkImportService;
+        this.catalogVersion = catalogVersion;
+        // With no max-age, caches must revalidate every time, which is cheap since unchanged catalogs get a 304
+        this.catalogCacheControl = catalogMaxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(catalogMaxAgeSeconds)).cachePublic()
+                : CacheControl.noCache().cachePublic();
     }
 
     /**
@@ -42,25 +77,72 @@ public class RoomController {
 
     /**
      * Get all rooms.
+     * Answers 304 Not Modified without reading the rooms when If-None-Match holds the current catalog ETag.
      *
+     * @param webRequest the current request, used for the conditional check
      * @return list of all rooms
      */
     @GetMapping
-    public ResponseEntity<List<RoomDTO>> getAllRooms() {
+    public ResponseEntity<List<RoomDTO>> getAllRooms(WebRequest webRequest) {
+        // Read the tag before the rooms, so a concurrent change can only make the tag older than the data
+        String etag = catalogVersion.getETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<RoomDTO> rooms = roomService.getAllRooms();
-        return ResponseEntity.ok(rooms);
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).eTag(etag).body(rooms);
+    }
+
+    /**
+     * Get one page of rooms using keyset pagination.
+     *
+     * @param limit the maximum number of rooms to return
+     * @param after the nextCursor of the previous page, if any
+     * @param sort  the field to sort by, prefixed with "-" for descending order
+     * @return the page of rooms and the cursor of the next page
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<KeysetPage<RoomDTO>> getRoomsPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<RoomDTO> page = roomService.getRoomsPage(new KeysetPageRequest(limit, after, sort));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Bulk import rooms from an NDJSON or CSV request body.
+     *
+     * @param format the upload format, "ndjson" or "csv"
+     * @param body the request body, read as a stream
+     * @return the import summary
+     * @throws IOException if the request body could not be read
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResultDTO> importRooms(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        ImportResultDTO result = bulkImportService.importRooms(ExportFormat.from(format), body);
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Get room by ID.
+     * Answers 304 Not Modified without reading the room when If-None-Match holds the room's ETag
+     * for the current catalog version, which is only ever issued for a room that exists.
      *
      * @param id the room ID
+     * @param webRequest the current request, used for the conditional check
      * @return the room DTO
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RoomDTO> getRoomById(@PathVariable Long id) {
+    public ResponseEntity<RoomDTO> getRoomById(@PathVariable Long id, WebRequest webRequest) {
+        String etag = catalogVersion.getETag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         RoomDTO room = roomService.getRoomById(id);
-        return ResponseEntity.ok(room);
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).eTag(etag).body(room);
     }
 
     /**
@@ -90,6 +172,61 @@ public class RoomController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Get a room's gallery in display order.
+     *
+     * @param id the room ID
+     * @return the room's images
+     */
+    @GetMapping("/{id}/images")
+    public ResponseEntity<List<RoomImageDTO>> getRoomImages(@PathVariable Long id) {
+        List<RoomImageDTO> images = roomImageService.getRoomImages(id);
+        return ResponseEntity.ok(images);
+    }
+
+    /**
+     * Add images to the end of a room's gallery without rewriting the room.
+     *
+     * @param id      the room ID
+     * @param request the image URLs to add, in order
+     * @return the room's gallery after the change
+     */
+    @PostMapping("/{id}/images")
+    public ResponseEntity<List<RoomImageDTO>> addRoomImages(
+            @PathVariable Long id,
+            @Valid @RequestBody RoomImagesRequest request) {
+        List<RoomImageDTO> images = roomImageService.addRoomImages(id, request.getUrls());
+        return new ResponseEntity<>(images, HttpStatus.CREATED);
+    }
+
+    /**
+     * Remove images from a room's gallery.
+     *
+     * @param id  the room ID
+     * @param ids the IDs of the images to remove
+     * @return no content response
+     */
+    @DeleteMapping("/{id}/images")
+    public ResponseEntity<Void> removeRoomImages(@PathVariable Long id, @RequestParam List<Long> ids) {
+        roomImageService.removeRoomImages(id, ids);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Reorder a room's gallery.
+     *
+     * @param id      the room ID
+     * @param request every image ID of the gallery in its new order
+     * @return the room's gallery in its new order
+     */
+    @PutMapping("/{id}/images/order")
+    public ResponseEntity<List<RoomImageDTO>> reorderRoomImages(
+            @PathVariable Long id,
+            @Valid @RequestBody RoomImageOrderRequest request) {
+        List<RoomImageDTO> images = roomImageService.reorderRoomImages(id, request.getImageIds());
+        return ResponseEntity.ok(images);
+    }
+
     /**
      * Search rooms based on criteria.
      *
@@ -130,4 +267,49 @@ public class RoomController {
         boolean isAvailable = roomService.checkAvailability(roomId, checkInDate, checkOutDate);
         return ResponseEntity.ok(isAvailable);
     }
+
+    /**
+     * Get the occupancy of many rooms over a date range in a single request.
+     *
+     * @param from     the first night of the calendar
+     * @param to       the end of the calendar (exclusive)
+     * @param roomType optional room type to restrict the calendar to
+     * @return the run-length encoded occupancy of each room
+     */
+    @GetMapping("/availability-calendar")
+    public ResponseEntity<AvailabilityCalendarDTO> getAvailabilityCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) RoomType roomType) {
+        AvailabilityCalendarDTO calendar = roomService.getAvailabilityCalendar(from, to, roomType);
+        return ResponseEntity.ok(calendar);
+    }
+
+    /**
+     * Place a temporary hold on a room while the guest completes the booking.
+     *
+     * @param id      the room ID
+     * @param request the stay to hold and the hold duration
+     * @return the hold with its token and expiry time
+     */
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<HoldResponse> createHold(
+            @PathVariable Long id,
+            @Valid @RequestBody HoldRequest request) {
+        HoldResponse hold = roomService.createHold(id, request);
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    /**
+     * Release a hold before it expires.
+     *
+     * @param id    the room ID
+     * @param token the hold token
+     * @return no content response
+     */
+    @DeleteMapping("/{id}/holds/{token}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id, @PathVariable String token) {
+        roomService.releaseHold(id, token);
+        return ResponseEntity.noContent().build();
+    }
 }
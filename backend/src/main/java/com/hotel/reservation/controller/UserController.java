@@ -1,5 +1,7 @@
 package com.hotel.reservation.controller;
 
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.dto.RegisterRequest;
 import com.hotel.reservation.dto.UserDTO;
 import com.hotel.reservation.service.UserService;
@@ -36,6 +38,23 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get one page of users using keyset pagination.
+     *
+     * @param limit the maximum number of users to return
+     * @param after the nextCursor of the previous page, if any
+     * @param sort  the field to sort by, prefixed with "-" for descending order
+     * @return the page of users and the cursor of the next page
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<KeysetPage<UserDTO>> getUsersPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<UserDTO> page = userService.getUsersPage(new KeysetPageRequest(limit, after, sort));
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * Get user by ID.
      *
@@ -0,0 +1,21 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the room x night occupancy matrix of a date range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCalendarDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private Integer nights;
+    private List<RoomCalendarDTO> rooms;
+}
@@ -0,0 +1,23 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the occupancy and revenue of a single night in an occupancy report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOccupancyDTO {
+    private LocalDate date;
+    private Long roomsSold;
+    private BigDecimal occupancyRate;
+    private BigDecimal revenue;
+    private BigDecimal adr;
+    private BigDecimal revpar;
+}
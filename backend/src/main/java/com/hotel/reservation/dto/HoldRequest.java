@@ -0,0 +1,26 @@
+package com.hotel.reservation.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for placing a temporary hold on a room.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldRequest {
+    @NotNull(message = "Check-in date is required")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    private LocalDate checkOutDate;
+
+    @Min(value = 1, message = "Hold must last at least 1 minute")
+    private Integer minutes;
+}
@@ -0,0 +1,23 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO for a temporary hold on a room.
+ * The token is passed back in the reservation request to consume the hold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldResponse {
+    private String token;
+    private Long roomId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Instant expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk import.
+ * Errors list the first rejected rows with their line numbers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private Long rowsRead;
+    private Long rowsImported;
+    private Long rowsSkipped;
+    private Long rowsRejected;
+    private List<String> errors;
+    private Long elapsedMillis;
+    private Double rowsPerSecond;
+}
@@ -0,0 +1,19 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a keyset pagination request.
+ * The sort is a field name, prefixed with "-" for descending order, e.g. "-createdAt".
+ * The cursor is the opaque nextCursor of the previous page, or null for the first page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageRequest {
+    private Integer limit;
+    private String after;
+    private String sort;
+}
@@ -0,0 +1,30 @@
+package com.hotel.reservation.dto;
+
+import com.hotel.reservation.entity.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the occupancy and revenue of one room type, or of the whole hotel when
+ * roomType is null, over a report's date range.
+ * The occupancy rate is a percentage of the available room nights. ADR is revenue per
+ * sold room night and RevPAR is revenue per available room night.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyMetricsDTO {
+    private RoomType roomType;
+    private Long rooms;
+    private Long roomNightsAvailable;
+    private Long roomNightsSold;
+    private BigDecimal occupancyRate;
+    private BigDecimal revenue;
+    private BigDecimal adr;
+    private BigDecimal revpar;
+    private List<DailyOccupancyDTO> days;
+}
@@ -0,0 +1,22 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the occupancy and revenue report of a date range, overall and per room type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReportDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private Integer nights;
+    private OccupancyMetricsDTO total;
+    private List<OccupancyMetricsDTO> roomTypes;
+}
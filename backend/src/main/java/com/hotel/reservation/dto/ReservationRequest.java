@@ -1,5 +1,6 @@
 package com.hotel.reservation.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,4 +34,18 @@ public class ReservationRequest {
     private Integer numberOfRooms;
 
     private String specialRequests;
+
+    private String holdToken;
+
+    /**
+     * The Idempotency-Key header of the request, stored on the created reservation.
+     */
+    @JsonIgnore
+    private String idempotencyKey;
+
+    /**
+     * The hash the idempotency check computed for this request, stored with the key.
+     */
+    @JsonIgnore
+    private String idempotencyRequestHash;
 }
@@ -0,0 +1,21 @@
+package com.hotel.reservation.dto;
+
+import com.hotel.reservation.entity.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the occupancy of a single room in an availability calendar.
+ * The occupancy is run-length encoded from the first night of the calendar,
+ * e.g. "3F2B25F" means 3 free nights, then 2 booked nights, then 25 free nights.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCalendarDTO {
+    private Long roomId;
+    private String roomNumber;
+    private RoomType roomType;
+    private String occupancy;
+}
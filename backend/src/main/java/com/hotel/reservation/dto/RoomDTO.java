@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * DTO for Room entity.
@@ -22,4 +23,13 @@ public class RoomDTO {
     private String description;
     private String imageUrl;
     private Integer capacity;
+    private List<RoomImageDTO> images = List.of();
+
+    /**
+     * Create a room DTO without its gallery, as read by query projections.
+     */
+    public RoomDTO(Long id, String roomNumber, RoomType roomType, BigDecimal price, Boolean isAvailable,
+                   String description, String imageUrl, Integer capacity) {
+        this(id, roomNumber, roomType, price, isAvailable, description, imageUrl, capacity, List.of());
+    }
 }
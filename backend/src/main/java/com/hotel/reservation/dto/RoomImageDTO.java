@@ -0,0 +1,20 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one image of a room's gallery.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomImageDTO {
+    private Long id;
+    private String url;
+    private Integer position;
+    private List<Integer> variantWidths;
+}
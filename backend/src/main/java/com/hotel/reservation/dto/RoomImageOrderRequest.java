@@ -0,0 +1,19 @@
+package com.hotel.reservation.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for reordering a room's gallery. Lists every image ID of the gallery in its new order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomImageOrderRequest {
+    @NotNull(message = "Image IDs are required")
+    private List<Long> imageIds;
+}
@@ -0,0 +1,22 @@
+package com.hotel.reservation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for adding images to the end of a room's gallery.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomImagesRequest {
+    @NotEmpty(message = "At least one image URL is required")
+    private List<@NotBlank(message = "Image URL must not be blank")
+            @Size(max = 500, message = "Image URL must not exceed 500 characters") String> urls;
+}
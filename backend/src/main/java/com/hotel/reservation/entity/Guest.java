@@ -3,6 +3,8 @@ package com.hotel.reservation.entity;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -18,7 +20,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "guests")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "guests", indexes = {
+    @Index(name = "idx_guests_last_name", columnList = "last_name, id"),
+    @Index(name = "idx_guests_email", columnList = "email, id")
+})
 public class Guest {
 
     @Id
@@ -0,0 +1,32 @@
+package com.hotel.reservation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity mapping a filename from before content-addressed storage to its blob,
+ * so that image URLs handed out earlier keep resolving.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "image_aliases", uniqueConstraints = {
+    @UniqueConstraint(columnNames = "filename")
+})
+public class ImageAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String filename;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id", nullable = false)
+    private ImageBlob blob;
+}
@@ -0,0 +1,59 @@
+package com.hotel.reservation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing stored image content, identified by its SHA-256 digest.
+ * Identical uploads share one blob; the reference count tracks how many uploads
+ * and legacy filenames point at it, and the file is deleted when it drops to zero.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "image_blobs", uniqueConstraints = {
+    @UniqueConstraint(columnNames = "sha256")
+})
+public class ImageBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String sha256;
+
+    @Column(nullable = false, length = 10)
+    private String extension;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * When a reference was last added, so orphan collection can tell a blob in use from a leftover
+     * without touching the file, whose modification time is served as the image's Last-Modified.
+     * Null for blobs created before the column existed.
+     */
+    @Column(name = "last_referenced_at")
+    private LocalDateTime lastReferencedAt;
+
+    /**
+     * The name the blob is stored and served under.
+     *
+     * @return the digest followed by the file extension
+     */
+    public String getFilename() {
+        return sha256 + "." + extension;
+    }
+}
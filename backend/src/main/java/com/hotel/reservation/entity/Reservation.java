@@ -19,7 +19,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservations_check_in", columnList = "check_in_date, id"),
+    @Index(name = "idx_reservations_check_out", columnList = "check_out_date, id"),
+    @Index(name = "idx_reservations_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_reservations_total_price", columnList = "total_price, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_reservations_idempotency_key", columnNames = "idempotency_key")
+})
 public class Reservation {
 
     @Id
@@ -68,4 +75,18 @@ public class Reservation {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * The Idempotency-Key the reservation was created with, if any.
+     * Stored with the booking itself, so a retry after an unknown outcome finds it.
+     */
+    @Column(name = "idempotency_key", length = 100, updatable = false)
+    private String idempotencyKey;
+
+    /**
+     * The hash of the request the idempotency key was first used with, so that a retry
+     * recovering this reservation can be checked against it.
+     */
+    @Column(name = "idempotency_request_hash", length = 64, updatable = false)
+    private String idempotencyRequestHash;
 }
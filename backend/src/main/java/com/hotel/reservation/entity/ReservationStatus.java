@@ -1,5 +1,8 @@
 package com.hotel.reservation.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enum representing the status of a reservation.
  */
@@ -7,5 +10,15 @@ public enum ReservationStatus {
     PENDING,
     CONFIRMED,
     CANCELLED,
-    COMPLETED
+    COMPLETED;
+
+    /**
+     * Statuses of reservations that keep their room occupied for the booked nights.
+     */
+    public static final Set<ReservationStatus> ROOM_BLOCKING = EnumSet.of(PENDING, CONFIRMED);
+
+    /**
+     * Statuses of reservations counted as sold room nights in occupancy and revenue reports.
+     */
+    public static final Set<ReservationStatus> SOLD = EnumSet.of(PENDING, CONFIRMED, COMPLETED);
 }
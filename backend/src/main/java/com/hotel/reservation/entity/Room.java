@@ -3,6 +3,8 @@ package com.hotel.reservation.entity;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -17,8 +19,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "rooms", uniqueConstraints = {
     @UniqueConstraint(columnNames = "room_number")
+}, indexes = {
+    @Index(name = "idx_rooms_price", columnList = "price, id"),
+    @Index(name = "idx_rooms_capacity", columnList = "capacity, id")
 })
 public class Room {
 
@@ -52,9 +59,6 @@ public class Room {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
-    @Column(name = "image_urls", columnDefinition = "TEXT")
-    private String imageUrls;
-
     @NotNull(message = "Capacity is required")
     @Min(value = 1, message = "Capacity must be at least 1")
     @Max(value = 10, message = "Capacity must not exceed 10")
@@ -0,0 +1,49 @@
+package com.hotel.reservation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one image of a room's gallery.
+ * Images are ordered by position, with ties broken by ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "room_images", indexes = {
+    @Index(name = "idx_room_images_room_position", columnList = "room_id, sort_order, id")
+})
+public class RoomImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Room room;
+
+    @Column(nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "sort_order", nullable = false)
+    private Integer position;
+
+    /**
+     * Comma-separated widths of the downscaled variants served for this image through ?w=,
+     * or null for external images that have no variants.
+     */
+    @Column(name = "variant_widths", length = 100)
+    private String variantWidths;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
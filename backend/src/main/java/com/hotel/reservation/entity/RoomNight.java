@@ -0,0 +1,47 @@
+package com.hotel.reservation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * Entity representing one night of a room held by a reservation.
+ * The unique key on (room_id, night) lets the database itself reject double bookings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "room_nights", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_room_nights_room_night", columnNames = {"room_id", "night"})
+}, indexes = {
+    @Index(name = "idx_room_nights_reservation", columnList = "reservation_id")
+})
+public class RoomNight {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Room is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Room room;
+
+    @NotNull(message = "Night is required")
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @NotNull(message = "Reservation is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Reservation reservation;
+}
@@ -0,0 +1,35 @@
+package com.hotel.reservation.export;
+
+import com.hotel.reservation.exception.InvalidOperationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+/**
+ * Formats supported by the streaming export endpoints.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    /**
+     * Resolve a format from a request parameter such as "csv" or "ndjson".
+     *
+     * @param name the format name, case-insensitive
+     * @return the matching format
+     * @throws InvalidOperationException if the format is not supported
+     */
+    public static ExportFormat from(String name) {
+        for (ExportFormat format : values()) {
+            if (format.fileExtension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new InvalidOperationException("Unsupported export format: " + name);
+    }
+}
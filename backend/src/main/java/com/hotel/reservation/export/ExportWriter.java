@@ -0,0 +1,96 @@
+package com.hotel.reservation.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export rows to an output stream one at a time, as NDJSON or CSV.
+ * Nothing is buffered beyond the writer's own buffer, so memory use does not
+ * depend on the number of rows. CSV columns are the JSON properties of the row type.
+ */
+public class ExportWriter {
+
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    public ExportWriter(ExportFormat format, Class<?> rowType, ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.columns = List.of();
+        } else {
+            this.generator = null;
+            BeanDescription description = objectMapper.getSerializationConfig()
+                    .introspect(objectMapper.constructType(rowType));
+            this.columns = description.findProperties().stream()
+                    .map(BeanPropertyDefinition::getName)
+                    .toList();
+            writeCsvLine(columns);
+        }
+    }
+
+    /**
+     * Write one row.
+     *
+     * @param row the row, an instance of the row type
+     * @throws IOException if the client disconnected or the stream failed
+     */
+    public void write(Object row) throws IOException {
+        if (generator != null) {
+            generator.writeObject(row);
+            generator.writeRaw('\n');
+            return;
+        }
+        JsonNode node = objectMapper.valueToTree(row);
+        writeCsvLine(columns.stream()
+                .map(node::get)
+                .map(value -> value == null || value.isNull() ? "" : value.asText())
+                .toList());
+    }
+
+    /**
+     * Flush everything written so far. The underlying stream is left open.
+     *
+     * @throws IOException if the stream failed
+     */
+    public void finish() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Export utilities for the Hotel Reservation System.
+ * Contains writers that stream reservations and guests as NDJSON or CSV.
+ */
+package com.hotel.reservation.export;
@@ -0,0 +1,169 @@
+package com.hotel.reservation.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.export.ExportFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an NDJSON or CSV upload one record at a time, so an import never holds the whole file.
+ * Each record is a map from field name to text value, using the same field names as the exports;
+ * CSV field names come from the header row. Empty values are returned as null.
+ */
+public class ImportRecordReader {
+
+    private final ExportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long line;
+    private long recordLine;
+
+    public ImportRecordReader(ExportFormat format, InputStream in, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the record's fields, or null at the end of the input
+     * @throws InvalidOperationException if the record is malformed; reading may continue with the next record
+     * @throws IOException if the upload could not be read
+     */
+    public Map<String, String> next() throws IOException {
+        return format == ExportFormat.NDJSON ? nextJson() : nextCsv();
+    }
+
+    /**
+     * Get the line on which the last record returned by {@link #next()} started.
+     *
+     * @return the 1-based line number
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private Map<String, String> nextJson() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        recordLine = line;
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            throw new InvalidOperationException("Malformed JSON");
+        }
+        if (!node.isObject()) {
+            throw new InvalidOperationException("Expected a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isContainerNode()) {
+                throw new InvalidOperationException("Field '" + field.getKey() + "' must be a plain value");
+            }
+            values.put(field.getKey(), value.isNull() ? null : emptyToNull(value.asText()));
+        }
+        return values;
+    }
+
+    private Map<String, String> nextCsv() throws IOException {
+        if (header == null) {
+            header = readCsvRecord();
+            if (header == null) {
+                return null;
+            }
+        }
+        List<String> fields = readCsvRecord();
+        if (fields == null) {
+            return null;
+        }
+        if (fields.size() != header.size()) {
+            throw new InvalidOperationException("Expected " + header.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(header.get(i), emptyToNull(fields.get(i)));
+        }
+        return values;
+    }
+
+    /**
+     * Read one RFC 4180 record, skipping blank lines. Quoted fields may span lines.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean started = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (!started) {
+                if (c == '\r' || c == '\n') {
+                    line += c == '\n' ? 1 : 0;
+                    continue;
+                }
+                started = true;
+                recordLine = line + 1;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    line += c == '\n' ? 1 : 0;
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidOperationException("Unterminated quoted field");
+        }
+        if (!started) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Import utilities for the Hotel Reservation System.
+ * Contains readers that parse NDJSON or CSV uploads one record at a time.
+ */
+package com.hotel.reservation.importer;
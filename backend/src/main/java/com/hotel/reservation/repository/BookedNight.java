@@ -0,0 +1,13 @@
+package com.hotel.reservation.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a booked night of a room.
+ */
+public interface BookedNight {
+
+    Long getRoomId();
+
+    LocalDate getNight();
+}
@@ -0,0 +1,12 @@
+package com.hotel.reservation.repository;
+
+/**
+ * Projection of the ID and email of a guest.
+ * Used by bulk imports to resolve and deduplicate guests without loading entities.
+ */
+public interface GuestRef {
+
+    Long getId();
+
+    String getEmail();
+}
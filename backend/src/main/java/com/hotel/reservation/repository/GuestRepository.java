@@ -1,13 +1,17 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.entity.Guest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Guest entity.
@@ -40,4 +44,28 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
      */
     @Query("SELECT g FROM Guest g WHERE g.user.id = :userId")
     List<Guest> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * Stream all guests, ordered by ID.
+     * On MySQL a fetch size of Integer.MIN_VALUE makes the driver stream rows instead of
+     * loading the whole result set. The stream must be consumed inside a transaction and closed.
+     * The second-level cache is ignored, so an export does not fill it with every row it reads.
+     *
+     * @return Stream of all guests
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT g FROM Guest g ORDER BY g.id")
+    Stream<Guest> streamAllForExport();
+
+    /**
+     * Find the ID and email of every guest.
+     *
+     * @return List of guest references
+     */
+    @Query("SELECT g.id AS id, g.email AS email FROM Guest g")
+    List<GuestRef> findAllRefs();
 }
@@ -0,0 +1,56 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.ImageAlias;
+import com.hotel.reservation.entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ImageAlias entity.
+ */
+@Repository
+public interface ImageAliasRepository extends JpaRepository<ImageAlias, Long> {
+
+    /**
+     * Find an alias by its legacy filename, together with its blob.
+     *
+     * @param filename the legacy filename
+     * @return Optional containing the alias if found
+     */
+    @Query("SELECT a FROM ImageAlias a JOIN FETCH a.blob WHERE a.filename = :filename")
+    Optional<ImageAlias> findByFilename(@Param("filename") String filename);
+
+    /**
+     * Check if an alias exists for a legacy filename.
+     *
+     * @param filename the legacy filename
+     * @return true if the filename has been migrated
+     */
+    boolean existsByFilename(String filename);
+
+    /**
+     * Delete every alias pointing at a blob.
+     *
+     * @param blob the blob
+     * @return the number of deleted aliases
+     */
+    @Modifying
+    @Query("DELETE FROM ImageAlias a WHERE a.blob = :blob")
+    int deleteByBlob(@Param("blob") ImageBlob blob);
+
+    /**
+     * Find the blobs behind legacy filenames.
+     *
+     * @param filenames the legacy filenames
+     * @return List of the blobs' content-addressed filenames
+     */
+    @Query("SELECT CONCAT(b.sha256, '.', b.extension) FROM ImageAlias a JOIN a.blob b WHERE a.filename IN :filenames")
+    List<String> findBlobFilenames(@Param("filenames") Collection<String> filenames);
+}
@@ -0,0 +1,56 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.ImageBlob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for ImageBlob entity.
+ */
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, Long> {
+
+    /**
+     * Add a reference to a blob, creating the blob with one reference if it does not exist.
+     * A single upsert, so concurrent uploads of the same content cannot both insert it;
+     * it also locks the blob row until the current transaction ends.
+     * The query declares the only table it writes, because Hibernate would otherwise treat
+     * the native update as touching every table and clear the whole second-level cache.
+     *
+     * @param sha256 the SHA-256 digest of the content, in lowercase hex
+     * @param extension the file extension used if the blob is created
+     * @param sizeBytes the content size in bytes
+     * @param referencedAt the time the reference is added
+     * @return the number of affected rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_blobs"))
+    @Query(value = "INSERT INTO image_blobs (sha256, extension, size_bytes, ref_count, created_at, last_referenced_at) " +
+            "VALUES (:sha256, :extension, :sizeBytes, 1, NOW(), :referencedAt) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, last_referenced_at = :referencedAt", nativeQuery = true)
+    int addReference(@Param("sha256") String sha256,
+                     @Param("extension") String extension,
+                     @Param("sizeBytes") long sizeBytes,
+                     @Param("referencedAt") LocalDateTime referencedAt);
+
+    /**
+     * Find a blob by its digest and lock its row until the current transaction ends.
+     *
+     * @param sha256 the SHA-256 digest, in lowercase hex
+     * @return Optional containing the locked blob if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ImageBlob b WHERE b.sha256 = :sha256")
+    Optional<ImageBlob> findBySha256ForUpdate(@Param("sha256") String sha256);
+}
@@ -0,0 +1,182 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
+import com.hotel.reservation.exception.InvalidOperationException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination over any entity with a Long "id".
+ * Pages are fetched with "WHERE (sort, id) > (:value, :id) ORDER BY sort, id LIMIT n",
+ * so a deep page costs the same indexed range scan as the first one.
+ */
+@Repository
+public class KeysetPaginator {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String ID = "id";
+
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fetch one page of entities.
+     *
+     * @param entityType the entity class
+     * @param request the page request
+     * @param sortableFields the non-null fields the caller may sort by, besides "id"
+     * @param mapper converts each entity to its DTO
+     * @param <E> the entity type
+     * @param <D> the DTO type
+     * @return the page of DTOs with the cursor of the next page
+     */
+    public <E, D> KeysetPage<D> findPage(Class<E> entityType, KeysetPageRequest request,
+                                         Set<String> sortableFields, Function<E, D> mapper) {
+        return findPage(entityType, request, sortableFields, List.of(), mapper);
+    }
+
+    /**
+     * Fetch one page of entities with some of their to-one associations joined in the same statement,
+     * so that the mapper does not trigger one lazy load per row.
+     *
+     * @param entityType the entity class
+     * @param request the page request
+     * @param sortableFields the non-null fields the caller may sort by, besides "id"
+     * @param fetchedAssociations the mandatory to-one associations to fetch with each entity
+     * @param mapper converts each entity to its DTO
+     * @param <E> the entity type
+     * @param <D> the DTO type
+     * @return the page of DTOs with the cursor of the next page
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <E, D> KeysetPage<D> findPage(Class<E> entityType, KeysetPageRequest request, Set<String> sortableFields,
+                                         List<String> fetchedAssociations, Function<E, D> mapper) {
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidOperationException("Page limit must be between 1 and " + MAX_LIMIT);
+        }
+        String sort = StringUtils.hasText(request.getSort()) ? request.getSort() : ID;
+        boolean descending = sort.startsWith("-");
+        String sortField = descending ? sort.substring(1) : sort;
+        if (!ID.equals(sortField) && !sortableFields.contains(sortField)) {
+            throw new InvalidOperationException("Cannot sort by '" + sortField + "'");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        fetchedAssociations.forEach(association -> root.fetch(association, JoinType.INNER));
+        Path<Long> idPath = root.get(ID);
+        Path<Comparable> sortPath = root.get(sortField);
+        query.multiselect(root, sortPath, idPath);
+
+        if (StringUtils.hasText(request.getAfter())) {
+            Cursor cursor = Cursor.decode(request.getAfter(), sort);
+            Comparable value = parseValue(cursor.value(), sortPath.getJavaType());
+            Predicate after = descending
+                    ? cb.or(cb.lessThan(sortPath, value), cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, cursor.id())))
+                    : cb.or(cb.greaterThan(sortPath, value), cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, cursor.id())));
+            query.where(ID.equals(sortField)
+                    ? (descending ? cb.lessThan(idPath, cursor.id()) : cb.greaterThan(idPath, cursor.id()))
+                    : after);
+        }
+        query.orderBy(descending
+                ? List.of(cb.desc(sortPath), cb.desc(idPath))
+                : List.of(cb.asc(sortPath), cb.asc(idPath)));
+
+        // Fetch one extra row to learn whether another page follows
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        boolean hasMore = rows.size() > limit;
+        List<Tuple> pageRows = hasMore ? rows.subList(0, limit) : rows;
+
+        List<D> items = new ArrayList<>(pageRows.size());
+        for (Tuple row : pageRows) {
+            items.add(mapper.apply((E) row.get(0)));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new Cursor(sort, String.valueOf(last.get(1)), (Long) last.get(2)).encode();
+        }
+        return new KeysetPage<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Parse a cursor value written with String.valueOf back into the type of its sort field.
+     * Temporal and decimal values are parsed from their exact toString forms, since the
+     * conversion service has no converters for them.
+     */
+    @SuppressWarnings("rawtypes")
+    private Comparable parseValue(String value, Class<?> type) {
+        try {
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            return (Comparable) conversionService.convert(value, type);
+        } catch (DateTimeParseException | ConversionException | IllegalArgumentException e) {
+            throw new InvalidOperationException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Position after the last row of a page, bound to the sort it was produced for.
+     */
+    private record Cursor(String sort, String value, Long id) {
+
+        private static final String SEPARATOR = "|";
+
+        String encode() {
+            String raw = sort + SEPARATOR + value + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String encoded, String expectedSort) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                int first = raw.indexOf(SEPARATOR);
+                int last = raw.lastIndexOf(SEPARATOR);
+                String sort = raw.substring(0, first);
+                if (first == last || !sort.equals(expectedSort)) {
+                    throw new InvalidOperationException("Cursor does not match the requested sort");
+                }
+                return new Cursor(sort, raw.substring(first + 1, last), Long.valueOf(raw.substring(last + 1)));
+            } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+                throw new InvalidOperationException("Invalid page cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hotel.reservation.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the fields that identify a reservation: its room, guest and stay dates.
+ * Used by bulk imports to skip reservations that were already imported.
+ */
+public interface ReservationKey {
+
+    Long getRoomId();
+
+    Long getGuestId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+}
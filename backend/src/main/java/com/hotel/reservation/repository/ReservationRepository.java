@@ -1,14 +1,23 @@
 package com.hotel.reservation.repository;
 
+import com.hotel.reservation.dto.ReservationDTO;
 import com.hotel.reservation.entity.Reservation;
 import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.entity.RoomType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Reservation entity.
@@ -17,6 +26,59 @@ import java.util.List;
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    /**
+     * Select clause that builds ReservationDTOs with the guest and room joined in the same statement.
+     */
+    String DTO_SELECT = "SELECT new com.hotel.reservation.dto.ReservationDTO(r.id, g.id, " +
+            "CONCAT(g.firstName, ' ', g.lastName), rm.id, rm.roomNumber, r.checkInDate, r.checkOutDate, " +
+            "r.numberOfGuests, r.numberOfRooms, r.totalPrice, r.status, r.createdAt) " +
+            "FROM Reservation r JOIN r.guest g JOIN r.room rm";
+
+    /**
+     * Find a reservation with its guest and room loaded in the same statement.
+     *
+     * @param id the reservation ID
+     * @return Optional containing the reservation if found
+     */
+    @EntityGraph(attributePaths = {"guest", "room"})
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findDetailedById(@Param("id") Long id);
+
+    /**
+     * Find the reservation created with an Idempotency-Key.
+     *
+     * @param idempotencyKey the idempotency key
+     * @return Optional containing the reservation with its guest and room
+     */
+    @EntityGraph(attributePaths = {"guest", "room"})
+    Optional<Reservation> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Find all reservations as DTOs, ordered by ID.
+     *
+     * @return List of all reservation DTOs
+     */
+    @Query(DTO_SELECT + " ORDER BY r.id")
+    List<ReservationDTO> findAllDTOs();
+
+    /**
+     * Find a reservation as a DTO.
+     *
+     * @param id the reservation ID
+     * @return Optional containing the reservation DTO if found
+     */
+    @Query(DTO_SELECT + " WHERE r.id = :id")
+    Optional<ReservationDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Find all reservations of a guest as DTOs, ordered by ID.
+     *
+     * @param guestId the guest ID to search for
+     * @return List of reservation DTOs for the guest
+     */
+    @Query(DTO_SELECT + " WHERE g.id = :guestId ORDER BY r.id")
+    List<ReservationDTO> findDTOsByGuestId(@Param("guestId") Long guestId);
+
     /**
      * Find all reservations for a specific guest.
      *
@@ -96,4 +158,149 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
         @Param("checkInDate") LocalDate checkInDate,
         @Param("checkOutDate") LocalDate checkOutDate
     );
+
+    /**
+     * Find the stay dates of all reservations in the given statuses that occupy
+     * at least one night between two dates.
+     * Used to load the in-memory availability index.
+     *
+     * @param from the first night of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param statuses the reservation statuses to include
+     * @return List of matching reservation spans
+     */
+    @Query("SELECT r.room.id AS roomId, r.checkInDate AS checkInDate, r.checkOutDate AS checkOutDate " +
+           "FROM Reservation r WHERE r.status IN :statuses " +
+           "AND r.checkInDate < :to AND r.checkOutDate > :from")
+    List<ReservationSpan> findSpansInRange(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Stream the stay, room type and price of all reservations in the given statuses that
+     * occupy at least one night between two dates.
+     * The check-out bound is served by idx_reservations_check_out, so reports over past
+     * ranges read only the reservations from the start of the range on. The fetch size makes
+     * the MySQL driver stream rows; the stream must be consumed inside a transaction and closed.
+     *
+     * @param from the first night of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param statuses the reservation statuses to include
+     * @return Stream of matching reservation spans
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT r.room.roomType AS roomType, r.checkInDate AS checkInDate, r.checkOutDate AS checkOutDate, " +
+           "r.numberOfRooms AS numberOfRooms, r.totalPrice AS totalPrice " +
+           "FROM Reservation r WHERE r.status IN :statuses " +
+           "AND r.checkOutDate > :from AND r.checkInDate < :to")
+    Stream<ReservationRevenueSpan> streamRevenueSpansInRange(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Stream the stay, room type and price of reservations in the given statuses for rooms
+     * of one type that occupy at least one night between two dates.
+     * The stream must be consumed inside a transaction and closed.
+     *
+     * @param roomType the room type to filter by
+     * @param from the first night of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param statuses the reservation statuses to include
+     * @return Stream of matching reservation spans
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT r.room.roomType AS roomType, r.checkInDate AS checkInDate, r.checkOutDate AS checkOutDate, " +
+           "r.numberOfRooms AS numberOfRooms, r.totalPrice AS totalPrice " +
+           "FROM Reservation r WHERE r.room.roomType = :roomType AND r.status IN :statuses " +
+           "AND r.checkOutDate > :from AND r.checkInDate < :to")
+    Stream<ReservationRevenueSpan> streamRevenueSpansByRoomTypeInRange(
+        @Param("roomType") RoomType roomType,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Find the stay dates of a room's reservations in the given statuses that occupy
+     * at least one night between two dates.
+     *
+     * @param roomId the room ID to search for
+     * @param from the first night of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param statuses the reservation statuses to include
+     * @return List of matching reservation spans
+     */
+    @Query("SELECT r.room.id AS roomId, r.checkInDate AS checkInDate, r.checkOutDate AS checkOutDate " +
+           "FROM Reservation r WHERE r.room.id = :roomId AND r.status IN :statuses " +
+           "AND r.checkInDate < :to AND r.checkOutDate > :from")
+    List<ReservationSpan> findSpansByRoomInRange(
+        @Param("roomId") Long roomId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Find the stay dates of reservations in the given statuses for rooms of one type
+     * that occupy at least one night between two dates.
+     *
+     * @param roomType the room type to filter by
+     * @param from the first night of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param statuses the reservation statuses to include
+     * @return List of matching reservation spans
+     */
+    @Query("SELECT r.room.id AS roomId, r.checkInDate AS checkInDate, r.checkOutDate AS checkOutDate " +
+           "FROM Reservation r WHERE r.room.roomType = :roomType AND r.status IN :statuses " +
+           "AND r.checkInDate < :to AND r.checkOutDate > :from")
+    List<ReservationSpan> findSpansByRoomTypeInRange(
+        @Param("roomType") RoomType roomType,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Find reservations in the given statuses that end after a date and hold no room nights yet.
+     * Used to backfill the room-night inventory for reservations created before it existed.
+     *
+     * @param since only reservations checking out after this date are returned
+     * @param statuses the reservation statuses to include
+     * @return List of reservations missing their room nights
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.status IN :statuses AND r.checkOutDate > :since " +
+           "AND NOT EXISTS (SELECT n.id FROM RoomNight n WHERE n.reservation = r)")
+    List<Reservation> findWithoutRoomNights(
+        @Param("since") LocalDate since,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Stream all reservations with their guest and room, ordered by ID.
+     * On MySQL a fetch size of Integer.MIN_VALUE makes the driver stream rows instead of
+     * loading the whole result set. The stream must be consumed inside a transaction and closed.
+     * The second-level cache is ignored, so an export does not fill it with every row it reads.
+     *
+     * @return Stream of all reservations
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.guest JOIN FETCH r.room ORDER BY r.id")
+    Stream<Reservation> streamAllForExport();
+
+    /**
+     * Find the room, guest and stay dates of every reservation.
+     *
+     * @return List of reservation keys
+     */
+    @Query("SELECT r.room.id AS roomId, r.guest.id AS guestId, r.checkInDate AS checkInDate, " +
+           "r.checkOutDate AS checkOutDate FROM Reservation r")
+    List<ReservationKey> findAllKeys();
 }
@@ -0,0 +1,23 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection of the stay, room type and price of a reservation.
+ * Used by occupancy and revenue reports that do not need the full Reservation entity.
+ */
+public interface ReservationRevenueSpan {
+
+    RoomType getRoomType();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+
+    Integer getNumberOfRooms();
+
+    BigDecimal getTotalPrice();
+}
@@ -0,0 +1,16 @@
+package com.hotel.reservation.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the room and stay dates of a reservation.
+ * Used by availability queries that do not need the full Reservation entity.
+ */
+public interface ReservationSpan {
+
+    Long getRoomId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+}
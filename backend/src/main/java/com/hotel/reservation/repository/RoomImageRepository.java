@@ -0,0 +1,71 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.RoomImage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for RoomImage entity.
+ */
+@Repository
+public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
+
+    /**
+     * Find the gallery of a room in display order.
+     *
+     * @param roomId the room ID
+     * @return List of the room's images
+     */
+    @Query("SELECT i FROM RoomImage i WHERE i.room.id = :roomId ORDER BY i.position, i.id")
+    List<RoomImage> findByRoomId(@Param("roomId") Long roomId);
+
+    /**
+     * Find the galleries of several rooms in one query, each in display order.
+     *
+     * @param roomIds the room IDs
+     * @return List of the rooms' images, grouped by room
+     */
+    @Query("SELECT i FROM RoomImage i WHERE i.room.id IN :roomIds ORDER BY i.room.id, i.position, i.id")
+    List<RoomImage> findByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+
+    /**
+     * Find the position after the last image of a room's gallery.
+     *
+     * @param roomId the room ID
+     * @return the next free position, 0 for an empty gallery
+     */
+    @Query("SELECT COALESCE(MAX(i.position) + 1, 0) FROM RoomImage i WHERE i.room.id = :roomId")
+    int findNextPosition(@Param("roomId") Long roomId);
+
+    /**
+     * Delete images from a room's gallery.
+     *
+     * @param roomId the room ID
+     * @param imageIds the IDs of the images to delete; IDs of other rooms' images are ignored
+     * @return the number of deleted images
+     */
+    @Modifying
+    @Query("DELETE FROM RoomImage i WHERE i.room.id = :roomId AND i.id IN :imageIds")
+    int deleteByRoomIdAndIdIn(@Param("roomId") Long roomId, @Param("imageIds") Collection<Long> imageIds);
+
+    /**
+     * Stream the URL of every gallery image.
+     * The fetch size makes the MySQL driver stream rows; the stream must be consumed
+     * inside a transaction and closed.
+     *
+     * @return Stream of image URLs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT i.url FROM RoomImage i")
+    Stream<String> streamUrls();
+}
@@ -0,0 +1,63 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for RoomNight entity.
+ * Provides indexed lookups over the room-night inventory.
+ */
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, Long> {
+
+    /**
+     * Count the booked nights of a room between two dates.
+     * Resolved with a range scan on the (room_id, night) unique key.
+     *
+     * @param roomId the room ID to check
+     * @param from the first night to check (inclusive)
+     * @param to the end of the range (exclusive)
+     * @return the number of booked nights in the range
+     */
+    @Query("SELECT COUNT(n) FROM RoomNight n WHERE n.room.id = :roomId " +
+           "AND n.night >= :from AND n.night < :to")
+    long countBookedNights(
+        @Param("roomId") Long roomId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    /**
+     * Find the booked nights of several rooms between two dates in one query.
+     *
+     * @param roomIds the room IDs to check
+     * @param from the first night to check (inclusive)
+     * @param to the end of the range (exclusive)
+     * @return List of booked nights
+     */
+    @Query("SELECT n.room.id AS roomId, n.night AS night FROM RoomNight n " +
+           "WHERE n.room.id IN :roomIds AND n.night >= :from AND n.night < :to")
+    List<BookedNight> findBookedNights(
+        @Param("roomIds") Collection<Long> roomIds,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    /**
+     * Delete all nights held by a reservation.
+     *
+     * @param reservationId the reservation ID
+     * @return the number of deleted nights
+     */
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.reservation.id = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+}
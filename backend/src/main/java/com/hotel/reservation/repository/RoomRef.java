@@ -0,0 +1,16 @@
+package com.hotel.reservation.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the natural key and nightly price of a room.
+ * Used by bulk imports to resolve and deduplicate rooms without loading entities.
+ */
+public interface RoomRef {
+
+    Long getId();
+
+    String getRoomNumber();
+
+    BigDecimal getPrice();
+}
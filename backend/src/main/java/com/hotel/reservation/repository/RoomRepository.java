@@ -2,30 +2,63 @@ package com.hotel.reservation.repository;
 
 import com.hotel.reservation.entity.Room;
 import com.hotel.reservation.entity.RoomType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Room entity.
  * Provides CRUD operations and custom query methods for Room management.
+ * Dynamic searches are implemented by {@link RoomSearchRepositoryImpl}.
  */
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, RoomSearchRepository {
 
     /**
      * Find a room by its room number.
+     * The result is kept in the query cache until the table changes.
      *
      * @param roomNumber the room number to search for
      * @return Optional containing the room if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Room> findByRoomNumber(String roomNumber);
 
+    /**
+     * Find a room by ID and lock its row until the current transaction ends
+     * (SELECT ... FOR UPDATE).
+     * Serializes bookings of the same room while bookings of other rooms run in parallel.
+     *
+     * @param id the room ID
+     * @return Optional containing the locked room if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find several rooms by ID and lock their rows until the current transaction ends.
+     * Rows are locked in ID order so that concurrent batches cannot deadlock.
+     *
+     * @param ids the room IDs
+     * @return List of the locked rooms that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     /**
      * Find all rooms by availability status.
      *
@@ -61,4 +94,31 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     @Query("SELECT r FROM Room r WHERE r.roomType = :roomType AND r.isAvailable = :isAvailable")
     List<Room> findAvailableRoomsByType(@Param("roomType") RoomType roomType, @Param("isAvailable") Boolean isAvailable);
+
+    /**
+     * Find the ID, room number and price of every room.
+     *
+     * @return List of room references
+     */
+    @Query("SELECT r.id AS id, r.roomNumber AS roomNumber, r.price AS price FROM Room r")
+    List<RoomRef> findAllRefs();
+
+    /**
+     * Stream the main image URL of every room that has one.
+     * The fetch size makes the MySQL driver stream rows; the stream must be consumed
+     * inside a transaction and closed.
+     *
+     * @return Stream of image URLs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT r.imageUrl FROM Room r WHERE r.imageUrl IS NOT NULL")
+    Stream<String> streamImageUrls();
+
+    /**
+     * Count the rooms of each type.
+     *
+     * @return List of room counts, one per room type that has rooms
+     */
+    @Query("SELECT r.roomType AS roomType, COUNT(r) AS rooms FROM Room r GROUP BY r.roomType")
+    List<RoomTypeCount> countByRoomType();
 }
@@ -0,0 +1,23 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.dto.RoomDTO;
+import com.hotel.reservation.dto.RoomSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for searching rooms with a single dynamic query.
+ */
+public interface RoomSearchRepository {
+
+    /**
+     * Search rooms matching the given criteria in one round-trip.
+     * Results are returned as DTO projections rather than managed entities.
+     *
+     * @param criteria the search criteria
+     * @param excludeBookedRooms whether to exclude rooms booked over the criteria's dates
+     *                           with an anti-join against the room-night inventory
+     * @return List of matching rooms ordered by ID
+     */
+    List<RoomDTO> searchRooms(RoomSearchCriteria criteria, boolean excludeBookedRooms);
+}
@@ -0,0 +1,74 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.dto.RoomDTO;
+import com.hotel.reservation.dto.RoomSearchCriteria;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomNight;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link RoomSearchRepository}.
+ * Translates every non-null field of the search criteria into a SQL predicate.
+ */
+public class RoomSearchRepositoryImpl implements RoomSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RoomDTO> searchRooms(RoomSearchCriteria criteria, boolean excludeBookedRooms) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RoomDTO> query = cb.createQuery(RoomDTO.class);
+        Root<Room> room = query.from(Room.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getRoomType() != null) {
+            predicates.add(cb.equal(room.get("roomType"), criteria.getRoomType()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(room.get("price"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(room.get("price"), criteria.getMaxPrice()));
+        }
+        if (criteria.getMinCapacity() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(room.get("capacity"), criteria.getMinCapacity()));
+        }
+        if (criteria.getIsAvailable() != null) {
+            predicates.add(cb.equal(room.get("isAvailable"), criteria.getIsAvailable()));
+        }
+        if (excludeBookedRooms && criteria.getCheckInDate() != null && criteria.getCheckOutDate() != null) {
+            // NOT EXISTS (SELECT 1 FROM room_nights WHERE room_id = room.id AND night IN [check-in, check-out))
+            Subquery<Long> booked = query.subquery(Long.class);
+            Root<RoomNight> night = booked.from(RoomNight.class);
+            booked.select(night.get("id")).where(
+                    cb.equal(night.get("room"), room),
+                    cb.greaterThanOrEqualTo(night.get("night"), criteria.getCheckInDate()),
+                    cb.lessThan(night.get("night"), criteria.getCheckOutDate()));
+            predicates.add(cb.not(cb.exists(booked)));
+        }
+
+        query.select(cb.construct(RoomDTO.class,
+                        room.get("id"),
+                        room.get("roomNumber"),
+                        room.get("roomType"),
+                        room.get("price"),
+                        room.get("isAvailable"),
+                        room.get("description"),
+                        room.get("imageUrl"),
+                        room.get("capacity")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(room.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.RoomType;
+
+/**
+ * Projection of the number of rooms of one type.
+ */
+public interface RoomTypeCount {
+
+    RoomType getRoomType();
+
+    Long getRooms();
+}
@@ -1,9 +1,14 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,10 +20,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Find a user by username.
+     * The result is kept in the query cache until the table changes.
      *
      * @param username the username to search for
      * @return Optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
@@ -36,4 +43,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the username exists, false otherwise
      */
     Boolean existsByUsername(String username);
+
+    /**
+     * Find the IDs of all users.
+     *
+     * @return List of user IDs
+     */
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
@@ -1,12 +1,17 @@
 package com.hotel.reservation.security;
 
+import com.hotel.reservation.entity.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -14,6 +19,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter to validate JWT tokens on each request.
@@ -25,7 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider jwtTokenProvider;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserAccountCache userAccountCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -34,21 +41,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            Optional<Claims> verified = StringUtils.hasText(jwt) ? jwtTokenProvider.verify(jwt) : Optional.empty();
+            if (verified.isPresent()) {
+                Claims claims = verified.get();
+                String username = claims.getSubject();
+                Role tokenRole = jwtTokenProvider.getRole(claims);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, 
-                        null, 
-                        userDetails.getAuthorities()
-                    );
-                
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                // The account must still exist with the role the token was issued for
+                Optional<Role> currentRole = userAccountCache.findRole(username);
+                if (currentRole.isPresent() && (tokenRole == null || tokenRole == currentRole.get())) {
+                    List<GrantedAuthority> authorities = List.of(
+                        new SimpleGrantedAuthority(JwtTokenProvider.ROLE_PREFIX + currentRole.get().name()));
+                    UserDetails userDetails = new User(username, "", authorities);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            authorities
+                        );
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -1,28 +1,63 @@
 package com.hotel.reservation.security;
 
+import com.hotel.reservation.cache.CacheMetrics;
+import com.hotel.reservation.cache.ExpiringLruCache;
+import com.hotel.reservation.entity.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * JWT Token Provider for generating and validating JWT tokens.
+ * The signing key and parser are built once. Tokens that passed verification are
+ * remembered by their SHA-256 hash until they expire, so a client repeating the same
+ * token skips signature checking and JSON parsing on later requests, without allocating.
  */
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String ROLE_PREFIX = "ROLE_";
+
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidationMustBeLongEnoughForHS256Algorithm}")
     private String jwtSecret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private long jwtExpiration;
 
+    @Value("${jwt.verified-cache.max-entries:10000}")
+    private int maxVerifiedTokens;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private ExpiringLruCache<TokenHash, Optional<Claims>> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        verifiedTokens = new ExpiringLruCache<>(maxVerifiedTokens);
+        CacheMetrics.bind(meterRegistry, "verifiedTokens", verifiedTokens);
+    }
+
     /**
      * Generate JWT token from authentication.
      *
@@ -31,45 +66,82 @@ public class JwtTokenProvider {
      */
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+        Role role = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> Role.valueOf(authority.substring(ROLE_PREFIX.length())))
+                .findFirst()
+                .orElse(null);
+        return generateTokenFromUsername(userDetails.getUsername(), role);
     }
 
     /**
-     * Generate JWT token from username.
+     * Generate JWT token from username and role.
+     * The role is stored as a claim so requests can be authorized without loading the user.
      *
      * @param username the username
+     * @param role the user's role, or null to omit the claim
      * @return JWT token
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateTokenFromUsername(String username, Role role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .subject(username)
+                .claim(ROLE_CLAIM, role != null ? role.name() : null)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * Verify a JWT token and return its claims.
+     *
+     * @param token JWT token
+     * @return Optional containing the verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<Claims> verify(String token) {
+        TokenHash probe = TokenHash.probe(token);
+        Optional<Claims> cached = verifiedTokens.get(probe);
+        if (cached != null) {
+            return cached;
+        }
+        TokenHash tokenHash = probe.copy();
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Optional<Claims> verified = Optional.of(claims);
+            // Tokens without an expiry are verified every time rather than cached forever
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, verified, claims.getExpiration().getTime());
+            }
+            return verified;
+        } catch (ExpiredJwtException ex) {
+            log.debug("Expired JWT token: {}", ex.getMessage());
+        } catch (SecurityException ex) {
+            log.warn("Invalid JWT signature: {}", ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            log.warn("Invalid JWT token: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            log.warn("Unsupported JWT token: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            log.warn("Rejected JWT token: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            log.warn("JWT claims string is empty: {}", ex.getMessage());
+        }
+        return Optional.empty();
+    }
+
     /**
      * Get username from JWT token.
      *
      * @param token JWT token
-     * @return username
+     * @return username, or null if the token is invalid
      */
     public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return verify(token).map(Claims::getSubject).orElse(null);
     }
 
     /**
@@ -79,27 +151,17 @@ public class JwtTokenProvider {
      * @return true if valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            
-            return true;
-        } catch (SecurityException ex) {
-            System.err.println("Invalid JWT signature: " + ex.getMessage());
-        } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token: " + ex.getMessage());
-        } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token: " + ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token: " + ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty: " + ex.getMessage());
-        }
-        
-        return false;
+        return verify(token).isPresent();
+    }
+
+    /**
+     * Get the role claim from verified claims.
+     *
+     * @param claims the verified claims
+     * @return the role, or null for tokens issued without one
+     */
+    public Role getRole(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return role != null ? Role.valueOf(role) : null;
     }
 }
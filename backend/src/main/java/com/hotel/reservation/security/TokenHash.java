@@ -0,0 +1,105 @@
+package com.hotel.reservation.security;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The first 128 bits of a token's SHA-256 hash, the key under which verified tokens are cached.
+ * A lookup hashes the token with per-thread buffers into a per-thread probe key, so a cache hit
+ * allocates nothing. The probe is overwritten by the thread's next lookup, so only {@link #copy()}
+ * of it may be stored.
+ */
+final class TokenHash {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /** Longer tokens are encoded with String.getBytes rather than growing the per-thread buffer. */
+    private static final int MAX_BUFFERED_LENGTH = 8192;
+
+    private static final ThreadLocal<Hasher> HASHERS = ThreadLocal.withInitial(Hasher::new);
+
+    private long high;
+    private long low;
+
+    private TokenHash(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Hash a token into this thread's probe key.
+     *
+     * @param token the token
+     * @return the probe key, valid until this thread's next call
+     */
+    static TokenHash probe(String token) {
+        return HASHERS.get().hash(token);
+    }
+
+    /**
+     * Copy this key so that it can be stored.
+     *
+     * @return a key with the same hash that no lookup overwrites
+     */
+    TokenHash copy() {
+        return new TokenHash(high, low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TokenHash other && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high);
+    }
+
+    private static final class Hasher {
+
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[32];
+        private final TokenHash probe = new TokenHash(0, 0);
+        private byte[] chars = new byte[1024];
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        TokenHash hash(String token) {
+            // JWTs are ASCII, whose UTF-8 encoding is one byte per char
+            int length = token.length();
+            boolean ascii = length <= MAX_BUFFERED_LENGTH;
+            if (ascii && chars.length < length) {
+                chars = new byte[Math.min(Math.max(length, chars.length * 2), MAX_BUFFERED_LENGTH)];
+            }
+            for (int i = 0; ascii && i < length; i++) {
+                char c = token.charAt(i);
+                ascii = c < 0x80;
+                chars[i] = (byte) c;
+            }
+            if (ascii) {
+                digest.update(chars, 0, length);
+            } else {
+                digest.update(token.getBytes(StandardCharsets.UTF_8));
+            }
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("SHA-256 digest does not fit", e);
+            }
+            probe.high = (long) LONGS.get(hash, 0);
+            probe.low = (long) LONGS.get(hash, 8);
+            return probe;
+        }
+    }
+}
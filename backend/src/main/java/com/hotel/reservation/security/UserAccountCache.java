@@ -0,0 +1,79 @@
+package com.hotel.reservation.security;
+
+import com.hotel.reservation.cache.CacheMetrics;
+import com.hotel.reservation.cache.ExpiringLruCache;
+import com.hotel.reservation.entity.Role;
+import com.hotel.reservation.entity.User;
+import com.hotel.reservation.repository.UserRepository;
+import com.hotel.reservation.service.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of the accounts behind JWT tokens.
+ * Requests are authenticated from token claims; this cache only confirms that the
+ * account still exists with the same role, so that check costs one query per user
+ * per time-to-live instead of one per request. Unknown users are cached too.
+ */
+@Component
+public class UserAccountCache {
+
+    private final UserRepository userRepository;
+    private final ExpiringLruCache<String, Optional<Role>> accounts;
+
+    // Bumped by every eviction so that reads started before it are not cached after it
+    private long generation;
+
+    public UserAccountCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${security.user-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.accounts = new ExpiringLruCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+        CacheMetrics.bind(meterRegistry, "userAccounts", accounts);
+    }
+
+    /**
+     * Get the current role of a user.
+     *
+     * @param username the username
+     * @return Optional containing the role, or empty if the user no longer exists
+     */
+    public Optional<Role> findRole(String username) {
+        Optional<Role> role = accounts.get(username);
+        if (role == null) {
+            long readGeneration = currentGeneration();
+            role = userRepository.findByUsername(username).map(User::getRole);
+            synchronized (accounts) {
+                if (generation == readGeneration) {
+                    accounts.put(username, role);
+                }
+            }
+        }
+        return role;
+    }
+
+    /**
+     * Forget a user once the current transaction commits, after their account changed or was deleted.
+     *
+     * @param username the username
+     */
+    public void evict(String username) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (accounts) {
+                generation++;
+                accounts.remove(username);
+            }
+        });
+    }
+
+    private long currentGeneration() {
+        synchronized (accounts) {
+            return generation;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.exception.RoomNotAvailableException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of temporary booking holds.
+ * A hold blocks the nights of a room for a few minutes while a guest completes checkout,
+ * without writing anything to the database. Expired holds are ignored on read and
+ * purged by a background sweep over a queue ordered by expiry time; released holds leave
+ * the queue immediately, so it never grows beyond the active holds.
+ */
+@Slf4j
+@Component
+public class BookingHoldRegistry {
+
+    /**
+     * A room held for a stay until its expiry time.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Hold {
+        private final String token;
+        private final Long roomId;
+        private final LocalDate checkInDate;
+        private final LocalDate checkOutDate;
+        private final Instant expiresAt;
+
+        boolean isActive(Instant now) {
+            return expiresAt.isAfter(now);
+        }
+
+        boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+            return checkInDate.isBefore(checkOut) && checkOutDate.isAfter(checkIn);
+        }
+    }
+
+    private final Map<String, Hold> holdsByToken = new ConcurrentHashMap<>();
+    private final Map<Long, List<Hold>> holdsByRoom = new ConcurrentHashMap<>();
+    private final NavigableSet<Hold> expiryQueue = new TreeSet<>(
+            Comparator.comparing(Hold::getExpiresAt).thenComparing(Hold::getToken));
+
+    @Value("${booking.holds.max-active:10000}")
+    private int maxActiveHolds;
+
+    /**
+     * Place a hold on the nights of a room.
+     * Callers must already have checked that the nights are not booked.
+     *
+     * @param roomId the room ID
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     * @param duration how long the hold lasts
+     * @return the new hold
+     * @throws RoomNotAvailableException if another active hold overlaps the stay
+     */
+    public synchronized Hold place(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, Duration duration) {
+        Instant now = Instant.now();
+        if (findOverlapping(roomId, checkInDate, checkOutDate, null, now).isPresent()) {
+            throw new RoomNotAvailableException("Room is currently held by another guest for the selected dates");
+        }
+        // Holds that expired since the last sweep must not count against the limit
+        if (holdsByToken.size() >= maxActiveHolds) {
+            purgeExpired(now);
+        }
+        if (holdsByToken.size() >= maxActiveHolds) {
+            throw new InvalidOperationException("Too many active holds, please try again later");
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), roomId, checkInDate, checkOutDate, now.plus(duration));
+        holdsByToken.put(hold.getToken(), hold);
+        holdsByRoom.compute(roomId, (id, holds) -> {
+            List<Hold> updated = holds != null ? new ArrayList<>(holds) : new ArrayList<>();
+            updated.add(hold);
+            return List.copyOf(updated);
+        });
+        expiryQueue.add(hold);
+        return hold;
+    }
+
+    /**
+     * Find an active hold by its token.
+     *
+     * @param token the hold token
+     * @return Optional containing the hold if it exists and has not expired
+     */
+    public Optional<Hold> find(String token) {
+        Hold hold = holdsByToken.get(token);
+        return hold != null && hold.isActive(Instant.now()) ? Optional.of(hold) : Optional.empty();
+    }
+
+    /**
+     * Check whether an active hold other than the given one overlaps a stay.
+     *
+     * @param roomId the room ID
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     * @param excludedToken a hold token to ignore, typically the caller's own hold, or null
+     * @return true if the stay is blocked by someone else's hold
+     */
+    public boolean isHeld(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, String excludedToken) {
+        return findOverlapping(roomId, checkInDate, checkOutDate, excludedToken, Instant.now()).isPresent();
+    }
+
+    /**
+     * Release a hold, either because it was consumed by a booking or abandoned.
+     *
+     * @param token the hold token
+     */
+    public synchronized void release(String token) {
+        Hold hold = holdsByToken.remove(token);
+        if (hold != null) {
+            removeFromRoom(hold);
+            expiryQueue.remove(hold);
+        }
+    }
+
+    /**
+     * Purge expired holds.
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.sweep-interval-ms:5000}")
+    public synchronized void sweepExpired() {
+        int expired = purgeExpired(Instant.now());
+        if (expired > 0) {
+            log.debug("Expired {} booking holds", expired);
+        }
+    }
+
+    private int purgeExpired(Instant now) {
+        int expired = 0;
+        while (!expiryQueue.isEmpty() && !expiryQueue.first().isActive(now)) {
+            Hold hold = expiryQueue.pollFirst();
+            holdsByToken.remove(hold.getToken(), hold);
+            removeFromRoom(hold);
+            expired++;
+        }
+        return expired;
+    }
+
+    private Optional<Hold> findOverlapping(Long roomId, LocalDate checkInDate, LocalDate checkOutDate,
+                                           String excludedToken, Instant now) {
+        List<Hold> holds = holdsByRoom.get(roomId);
+        if (holds == null) {
+            return Optional.empty();
+        }
+        return holds.stream()
+                .filter(hold -> hold.isActive(now))
+                .filter(hold -> !hold.getToken().equals(excludedToken))
+                .filter(hold -> hold.overlaps(checkInDate, checkOutDate))
+                .findFirst();
+    }
+
+    private void removeFromRoom(Hold hold) {
+        holdsByRoom.computeIfPresent(hold.getRoomId(), (id, holds) -> {
+            List<Hold> remaining = holds.stream()
+                    .filter(existing -> !existing.getToken().equals(hold.getToken()))
+                    .toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+}
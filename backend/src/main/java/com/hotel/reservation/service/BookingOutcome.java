@@ -0,0 +1,30 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.dto.ReservationResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of one booking request processed as part of a batch:
+ * either the created reservation or the exception that rejected it.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingOutcome {
+
+    private final ReservationResponse response;
+    private final RuntimeException failure;
+
+    public static BookingOutcome success(ReservationResponse response) {
+        return new BookingOutcome(response, null);
+    }
+
+    public static BookingOutcome failure(RuntimeException failure) {
+        return new BookingOutcome(null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,487 @@
+package com.hotel.reservation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.dto.ImportResultDTO;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.entity.User;
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.exception.RoomNotAvailableException;
+import com.hotel.reservation.export.ExportFormat;
+import com.hotel.reservation.importer.ImportRecordReader;
+import com.hotel.reservation.repository.BookedNight;
+import com.hotel.reservation.repository.GuestRepository;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightRepository;
+import com.hotel.reservation.repository.RoomRef;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of rooms, guests and reservations from NDJSON or CSV uploads.
+ * The upload is parsed one record at a time and duplicates are detected against keys
+ * loaded once up front, so no row triggers its own existence query. Accepted rows are
+ * written with JDBC batch inserts, one transaction per chunk; a failed chunk is rolled
+ * back and reported without stopping the rest of the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_ROOM_SQL =
+            "INSERT INTO rooms (room_number, room_type, price, is_available, description, image_url, capacity) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_GUEST_SQL =
+            "INSERT INTO guests (first_name, last_name, email, phone_number, address, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservations (guest_id, room_id, check_in_date, check_out_date, number_of_guests, " +
+            "number_of_rooms, special_requests, total_price, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final RoomRepository roomRepository;
+    private final GuestRepository guestRepository;
+    private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final RoomNightInventory roomNightInventory;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomCatalogVersion catalogVersion;
+    private final RoomSearchCache searchCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * A parsed row and the line of the upload it came from.
+     */
+    private record Row<T>(long line, T value) {
+    }
+
+    /**
+     * Writes one chunk of accepted rows inside a transaction and returns how many were written.
+     * Rows rejected while writing are added to the rejections list.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        int write(List<Row<T>> rows, List<String> rejections);
+    }
+
+    private record ImportedReservation(Long guestId, RoomRef room, LocalDate checkInDate, LocalDate checkOutDate,
+                                       Integer numberOfGuests, Integer numberOfRooms, String specialRequests,
+                                       BigDecimal totalPrice, ReservationStatus status, LocalDateTime createdAt) {
+    }
+
+    private record ReservationIdentity(Long roomId, Long guestId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+
+    private record Night(Long roomId, LocalDate night) {
+    }
+
+    /**
+     * Import rooms. Rooms whose room number already exists are skipped.
+     *
+     * @param format the upload format
+     * @param in the upload
+     * @return the import summary
+     * @throws IOException if the upload could not be read
+     */
+    public ImportResultDTO importRooms(ExportFormat format, InputStream in) throws IOException {
+        Set<String> roomNumbers = roomRepository.findAllRefs().stream()
+                .map(RoomRef::getRoomNumber)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        return run("rooms", format, in, this::parseRoom, room -> !roomNumbers.add(room.getRoomNumber()),
+                (rows, rejections) -> {
+                    jdbcTemplate.batchUpdate(INSERT_ROOM_SQL, rows.stream()
+                            .map(Row::value)
+                            .map(room -> new Object[]{room.getRoomNumber(), room.getRoomType().name(), room.getPrice(),
+                                    room.getIsAvailable(), room.getDescription(), room.getImageUrl(), room.getCapacity()})
+                            .toList());
+                    catalogVersion.changed();
+                    // Plain JDBC inserts bypass Hibernate, so cached room-number lookups are dropped by hand
+                    TransactionHooks.afterCommit(() ->
+                            entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions());
+                    searchCache.onRoomTypesChanged(rows.stream()
+                            .map(row -> row.value().getRoomType())
+                            .collect(Collectors.toSet()));
+                    return rows.size();
+                });
+    }
+
+    /**
+     * Import guests. Guests whose email already exists, ignoring case, are skipped.
+     *
+     * @param format the upload format
+     * @param in the upload
+     * @return the import summary
+     * @throws IOException if the upload could not be read
+     */
+    public ImportResultDTO importGuests(ExportFormat format, InputStream in) throws IOException {
+        Set<String> emails = guestRepository.findAllRefs().stream()
+                .map(guest -> guest.getEmail().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<Long> userIds = new HashSet<>(userRepository.findAllIds());
+
+        return run("guests", format, in, values -> parseGuest(values, userIds),
+                guest -> !emails.add(guest.getEmail().toLowerCase(Locale.ROOT)),
+                (rows, rejections) -> {
+                    jdbcTemplate.batchUpdate(INSERT_GUEST_SQL, rows.stream()
+                            .map(Row::value)
+                            .map(guest -> new Object[]{guest.getFirstName(), guest.getLastName(), guest.getEmail(),
+                                    guest.getPhoneNumber(), guest.getAddress(),
+                                    guest.getUser() != null ? guest.getUser().getId() : null})
+                            .toList());
+                    return rows.size();
+                });
+    }
+
+    /**
+     * Import reservations. Rooms are referenced by roomNumber and guests by guestEmail or guestId.
+     * Reservations with the same room, guest and dates as an existing one are skipped.
+     * Pending and confirmed reservations also claim their room nights and are rejected
+     * if one of those nights is already booked.
+     *
+     * @param format the upload format
+     * @param in the upload
+     * @return the import summary
+     * @throws IOException if the upload could not be read
+     */
+    public ImportResultDTO importReservations(ExportFormat format, InputStream in) throws IOException {
+        Map<String, RoomRef> roomsByNumber = new HashMap<>();
+        roomRepository.findAllRefs().forEach(room -> roomsByNumber.put(room.getRoomNumber(), room));
+        Map<String, Long> guestIdsByEmail = new HashMap<>();
+        Set<Long> guestIds = new HashSet<>();
+        guestRepository.findAllRefs().forEach(guest -> {
+            guestIdsByEmail.merge(guest.getEmail().toLowerCase(Locale.ROOT), guest.getId(), Math::min);
+            guestIds.add(guest.getId());
+        });
+        Set<ReservationIdentity> existing = reservationRepository.findAllKeys().stream()
+                .map(key -> new ReservationIdentity(key.getRoomId(), key.getGuestId(),
+                        key.getCheckInDate(), key.getCheckOutDate()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        return run("reservations", format, in,
+                values -> parseReservation(values, roomsByNumber, guestIdsByEmail, guestIds),
+                reservation -> !existing.add(new ReservationIdentity(reservation.room().getId(), reservation.guestId(),
+                        reservation.checkInDate(), reservation.checkOutDate())),
+                this::writeReservations);
+    }
+
+    private <T> ImportResultDTO run(String entity, ExportFormat format, InputStream in,
+                                    Function<Map<String, String>, T> parser, Predicate<T> isDuplicate,
+                                    ChunkWriter<T> writer) throws IOException {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ImportRecordReader reader = new ImportRecordReader(format, in, objectMapper);
+        List<Row<T>> chunk = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        long read = 0;
+        long imported = 0;
+        long skipped = 0;
+        long rejected = 0;
+
+        while (true) {
+            Map<String, String> values;
+            try {
+                values = reader.next();
+            } catch (InvalidOperationException e) {
+                read++;
+                rejected++;
+                report(errors, reader.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if (values == null) {
+                break;
+            }
+            read++;
+
+            T row;
+            try {
+                row = parser.apply(values);
+            } catch (InvalidOperationException e) {
+                rejected++;
+                report(errors, reader.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if (isDuplicate.test(row)) {
+                skipped++;
+                continue;
+            }
+            chunk.add(new Row<>(reader.getRecordLine(), row));
+            if (chunk.size() >= batchSize) {
+                long written = flush(chunk, writer, transactionTemplate, errors);
+                imported += written;
+                rejected += chunk.size() - written;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            long written = flush(chunk, writer, transactionTemplate, errors);
+            imported += written;
+            rejected += chunk.size() - written;
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        double rowsPerSecond = imported * 1000.0 / Math.max(elapsedMillis, 1);
+        log.info("Imported {} of {} {} in {} ms ({} rows/s), {} skipped, {} rejected",
+                imported, read, entity, elapsedMillis, Math.round(rowsPerSecond), skipped, rejected);
+        return new ImportResultDTO(read, imported, skipped, rejected, errors, elapsedMillis, rowsPerSecond);
+    }
+
+    private <T> long flush(List<Row<T>> chunk, ChunkWriter<T> writer, TransactionTemplate transactionTemplate,
+                           List<String> errors) {
+        List<String> rejections = new ArrayList<>();
+        try {
+            Integer written = transactionTemplate.execute(status -> writer.write(chunk, rejections));
+            rejections.forEach(error -> report(errors, error));
+            return written != null ? written : 0;
+        } catch (DataAccessException | RoomNotAvailableException e) {
+            // The whole chunk rolled back, e.g. on a duplicate written concurrently
+            log.warn("Import chunk starting on line {} failed: {}", chunk.get(0).line(), e.getMessage());
+            report(errors, "Lines " + chunk.get(0).line() + "-" + chunk.get(chunk.size() - 1).line()
+                    + ": chunk rolled back: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private int writeReservations(List<Row<ImportedReservation>> rows, List<String> rejections) {
+        List<Row<ImportedReservation>> accepted = rejectBookedNights(rows, rejections);
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = JdbcBatchInserts.insertReturningKeys(jdbcTemplate, INSERT_RESERVATION_SQL, accepted.stream()
+                .map(Row::value)
+                .map(reservation -> new Object[]{reservation.guestId(), reservation.room().getId(),
+                        reservation.checkInDate(), reservation.checkOutDate(), reservation.numberOfGuests(),
+                        reservation.numberOfRooms(), reservation.specialRequests(), reservation.totalPrice(),
+                        reservation.status().name(), reservation.createdAt()})
+                .toList());
+
+        List<RoomNightInventory.Stay> stays = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            ImportedReservation reservation = accepted.get(i).value();
+            if (ReservationStatus.ROOM_BLOCKING.contains(reservation.status())) {
+                stays.add(new RoomNightInventory.Stay(ids.get(i), reservation.room().getId(),
+                        reservation.checkInDate(), reservation.checkOutDate()));
+            }
+        }
+        if (!stays.isEmpty()) {
+            roomNightInventory.reserveStays(stays);
+            availabilityIndex.onReservationsChanged(stays.stream()
+                    .map(RoomNightInventory.Stay::roomId)
+                    .distinct()
+                    .toArray(Long[]::new));
+            // One invalidation spanning the chunk rather than one per imported stay
+            searchCache.onNightsChanged(
+                    stays.stream().map(RoomNightInventory.Stay::checkInDate).min(LocalDate::compareTo).orElseThrow(),
+                    stays.stream().map(RoomNightInventory.Stay::checkOutDate).max(LocalDate::compareTo).orElseThrow());
+        }
+        return accepted.size();
+    }
+
+    /**
+     * Drop room-blocking rows whose nights are already booked, either in the database
+     * or by an earlier row of the same chunk.
+     */
+    private List<Row<ImportedReservation>> rejectBookedNights(List<Row<ImportedReservation>> rows,
+                                                             List<String> rejections) {
+        List<ImportedReservation> blocking = rows.stream()
+                .map(Row::value)
+                .filter(reservation -> ReservationStatus.ROOM_BLOCKING.contains(reservation.status()))
+                .toList();
+        if (blocking.isEmpty()) {
+            return rows;
+        }
+
+        Set<Long> roomIds = blocking.stream().map(reservation -> reservation.room().getId()).collect(Collectors.toSet());
+        LocalDate from = blocking.stream().map(ImportedReservation::checkInDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = blocking.stream().map(ImportedReservation::checkOutDate).max(LocalDate::compareTo).orElseThrow();
+        Set<Night> booked = new HashSet<>();
+        for (BookedNight night : roomNightRepository.findBookedNights(roomIds, from, to)) {
+            booked.add(new Night(night.getRoomId(), night.getNight()));
+        }
+
+        List<Row<ImportedReservation>> accepted = new ArrayList<>(rows.size());
+        for (Row<ImportedReservation> row : rows) {
+            ImportedReservation reservation = row.value();
+            if (!ReservationStatus.ROOM_BLOCKING.contains(reservation.status())) {
+                accepted.add(row);
+                continue;
+            }
+            List<Night> nights = new ArrayList<>();
+            for (LocalDate night = reservation.checkInDate(); night.isBefore(reservation.checkOutDate()); night = night.plusDays(1)) {
+                nights.add(new Night(reservation.room().getId(), night));
+            }
+            Night taken = nights.stream().filter(booked::contains).findFirst().orElse(null);
+            if (taken != null) {
+                rejections.add("Line " + row.line() + ": room " + reservation.room().getRoomNumber()
+                        + " is already booked on " + taken.night());
+                continue;
+            }
+            booked.addAll(nights);
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    private Room parseRoom(Map<String, String> values) {
+        Room room = new Room();
+        room.setRoomNumber(values.get("roomNumber"));
+        room.setRoomType(parse(values, "roomType", value -> RoomType.valueOf(value.toUpperCase(Locale.ROOT)), null));
+        room.setPrice(parse(values, "price", BigDecimal::new, null));
+        room.setIsAvailable(parse(values, "isAvailable", Boolean::valueOf, true));
+        room.setDescription(values.get("description"));
+        room.setImageUrl(values.get("imageUrl"));
+        room.setCapacity(parse(values, "capacity", Integer::valueOf, null));
+        validate(room);
+        return room;
+    }
+
+    private Guest parseGuest(Map<String, String> values, Set<Long> userIds) {
+        Guest guest = new Guest();
+        guest.setFirstName(values.get("firstName"));
+        guest.setLastName(values.get("lastName"));
+        guest.setEmail(values.get("email"));
+        guest.setPhoneNumber(values.get("phoneNumber"));
+        guest.setAddress(values.get("address"));
+        Long userId = parse(values, "userId", Long::valueOf, null);
+        if (userId != null) {
+            if (!userIds.contains(userId)) {
+                throw new InvalidOperationException("Unknown user " + userId);
+            }
+            User user = new User();
+            user.setId(userId);
+            guest.setUser(user);
+        }
+        validate(guest);
+        return guest;
+    }
+
+    private ImportedReservation parseReservation(Map<String, String> values, Map<String, RoomRef> roomsByNumber,
+                                                 Map<String, Long> guestIdsByEmail, Set<Long> guestIds) {
+        RoomRef room = roomsByNumber.get(required(values, "roomNumber"));
+        if (room == null) {
+            throw new InvalidOperationException("Unknown room " + values.get("roomNumber"));
+        }
+
+        Long guestId;
+        if (values.get("guestEmail") != null) {
+            guestId = guestIdsByEmail.get(values.get("guestEmail").toLowerCase(Locale.ROOT));
+            if (guestId == null) {
+                throw new InvalidOperationException("Unknown guest " + values.get("guestEmail"));
+            }
+        } else {
+            guestId = parse(values, "guestId", Long::valueOf, null);
+            if (guestId == null || !guestIds.contains(guestId)) {
+                throw new InvalidOperationException("Unknown guest " + values.get("guestId"));
+            }
+        }
+
+        LocalDate checkInDate = parse(values, "checkInDate", LocalDate::parse, null);
+        LocalDate checkOutDate = parse(values, "checkOutDate", LocalDate::parse, null);
+        if (checkInDate == null || checkOutDate == null || !checkOutDate.isAfter(checkInDate)) {
+            throw new InvalidOperationException("Check-out date must be after check-in date");
+        }
+        Integer numberOfGuests = parse(values, "numberOfGuests", Integer::valueOf, 1);
+        Integer numberOfRooms = parse(values, "numberOfRooms", Integer::valueOf, 1);
+        if (numberOfGuests < 1 || numberOfRooms < 1) {
+            throw new InvalidOperationException("Number of guests and rooms must be at least 1");
+        }
+        BigDecimal totalPrice = parse(values, "totalPrice", BigDecimal::new, null);
+        if (totalPrice == null) {
+            long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+            totalPrice = room.getPrice().multiply(BigDecimal.valueOf(nights)).multiply(BigDecimal.valueOf(numberOfRooms));
+        }
+        if (totalPrice.signum() <= 0) {
+            throw new InvalidOperationException("Total price must be greater than 0");
+        }
+        ReservationStatus status = parse(values, "status",
+                value -> ReservationStatus.valueOf(value.toUpperCase(Locale.ROOT)), ReservationStatus.CONFIRMED);
+        LocalDateTime createdAt = parse(values, "createdAt", LocalDateTime::parse, LocalDateTime.now());
+
+        return new ImportedReservation(guestId, room, checkInDate, checkOutDate, numberOfGuests, numberOfRooms,
+                values.get("specialRequests"), totalPrice, status, createdAt);
+    }
+
+    private static String required(Map<String, String> values, String field) {
+        String value = values.get(field);
+        if (value == null) {
+            throw new InvalidOperationException("Field '" + field + "' is required");
+        }
+        return value;
+    }
+
+    private static <T> T parse(Map<String, String> values, String field, Function<String, T> parser, T defaultValue) {
+        String value = values.get(field);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (RuntimeException e) {
+            throw new InvalidOperationException("Invalid value for '" + field + "': " + value);
+        }
+    }
+
+    private void validate(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new InvalidOperationException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static void report(List<String> errors, long line, String message) {
+        report(errors, "Line " + line + ": " + message);
+    }
+
+    private static void report(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+}
@@ -2,6 +2,12 @@ package com.hotel.reservation.service;
 
 import com.hotel.reservation.dto.GuestDTO;
 import com.hotel.reservation.dto.GuestRequest;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
+import com.hotel.reservation.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -13,5 +19,7 @@ public interface GuestService {
     void deleteGuest(Long id);
     GuestDTO getGuestById(Long id);
     List<GuestDTO> getAllGuests();
+    KeysetPage<GuestDTO> getGuestsPage(KeysetPageRequest request);
+    void exportGuests(ExportFormat format, OutputStream out) throws IOException;
     List<GuestDTO> getGuestsByUser(Long userId);
 }
@@ -1,18 +1,30 @@
 package com.hotel.reservation.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotel.reservation.dto.GuestDTO;
 import com.hotel.reservation.dto.GuestRequest;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.entity.Guest;
 import com.hotel.reservation.entity.User;
 import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.export.ExportFormat;
+import com.hotel.reservation.export.ExportWriter;
 import com.hotel.reservation.repository.GuestRepository;
+import com.hotel.reservation.repository.KeysetPaginator;
 import com.hotel.reservation.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for Guest operations.
@@ -22,8 +34,15 @@ import java.util.stream.Collectors;
 @Transactional
 public class GuestServiceImpl implements GuestService {
 
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of("lastName", "email");
+
     private final GuestRepository guestRepository;
     private final UserRepository userRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     @Override
     public GuestDTO createGuest(GuestRequest request) {
@@ -90,6 +109,30 @@ public class GuestServiceImpl implements GuestService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<GuestDTO> getGuestsPage(KeysetPageRequest request) {
+        return keysetPaginator.findPage(Guest.class, request, SORTABLE_FIELDS, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportGuests(ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, GuestDTO.class, objectMapper, out);
+        try (Stream<Guest> guests = guestRepository.streamAllForExport()) {
+            Iterator<Guest> iterator = guests.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                writer.write(convertToDTO(iterator.next()));
+                // Streamed entities are not needed once written; keep the persistence context small
+                if (++written % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.finish();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<GuestDTO> getGuestsByUser(Long userId) {
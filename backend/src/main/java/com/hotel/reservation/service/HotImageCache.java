@@ -0,0 +1,97 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.cache.CacheMetrics;
+import com.hotel.reservation.cache.DirectBufferCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Keeps the bytes of frequently served images in direct buffers off the heap.
+ * Entries are keyed by file, size and modification time, so a file replaced on disk
+ * is never served from a stale entry. Images above the per-entry limit are not cached
+ * and keep going out through sendfile.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotImageCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${images.memory-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${images.memory-cache.max-entry-bytes:2097152}")
+    private long maxEntryBytes;
+
+    private DirectBufferCache<Key> cache;
+
+    private record Key(Path file, long size, long lastModified) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new DirectBufferCache<>(maxBytes);
+        CacheMetrics.bind(meterRegistry, "hotImages", cache);
+        Gauge.builder("cache.bytes", cache, DirectBufferCache::usedBytes)
+                .tags("cache", "hotImages")
+                .description("The number of bytes held in direct buffers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the content of an image file, reading it into the cache on first access.
+     *
+     * @param file the image file
+     * @param size the file size, as just read from its attributes
+     * @param lastModified the file modification time in epoch milliseconds
+     * @return a read-only view of the content, or null if the file is too large to cache
+     * @throws IOException if the file could not be read
+     */
+    public ByteBuffer get(Path file, long size, long lastModified) throws IOException {
+        if (size > maxEntryBytes || size > maxBytes) {
+            return null;
+        }
+        Key key = new Key(file, size, lastModified);
+        ByteBuffer cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+        }
+        buffer.flip();
+        if (buffer.limit() != size) {
+            // The file changed while it was read; let the caller serve it from disk
+            return null;
+        }
+        cache.put(key, buffer);
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Drop every cached version of the given files.
+     *
+     * @param files the image files
+     */
+    public void invalidate(Collection<Path> files) {
+        Set<Path> dropped = Set.copyOf(files);
+        cache.removeIf(key -> dropped.contains(key.file()));
+    }
+}
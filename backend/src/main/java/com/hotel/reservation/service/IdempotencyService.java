@@ -0,0 +1,220 @@
+package com.hotel.reservation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.cache.ExpiringLruCache;
+import com.hotel.reservation.entity.IdempotencyRecord;
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Executes requests at most once per Idempotency-Key.
+ * Successful responses are kept in a bounded, expiring in-memory cache backed by the
+ * idempotency_keys table, so a retry returns the original response without running the
+ * request again. Concurrent requests with the same key wait for the first one to finish.
+ * Failed requests are not recorded and may be retried.
+ * Actions may also store the key and request hash with their own result, under a unique
+ * constraint, in the same transaction. The response is then recovered from that result when
+ * the request committed but its response was never recorded, e.g. after a crash or a timeout,
+ * or when another instance ran the same key concurrently.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final ExpiringLruCache<String, IdempotencyRecord> cache;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * A response recovered from the result an earlier run of an action stored with its key.
+     *
+     * @param requestHash the request hash stored with the key
+     * @param response the response rebuilt from the stored result
+     */
+    public record StoredResult<T>(String requestHash, T response) {
+    }
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.cache.max-entries:10000}") int maxCachedEntries) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = new ExpiringLruCache<>(maxCachedEntries, ttl);
+    }
+
+    /**
+     * Run an action once for a given key and request, or return the response of an earlier
+     * run, either as recorded or as recovered from the result the action stored with the key.
+     *
+     * @param key the client-supplied idempotency key
+     * @param request the request body, used to detect a key reused for a different request
+     * @param responseType the response class, used to restore recorded responses
+     * @param action the action to run on the first request, given the request hash; it stores the key
+     *               under a unique constraint, together with that hash
+     * @param recover finds the result stored with a key by an earlier run of the action
+     * @param <T> the response type
+     * @return the response of the first successful run
+     */
+    public <T> T execute(String key, Object request, Class<T> responseType, Function<String, T> action,
+                         Function<String, Optional<StoredResult<T>>> recover) {
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException("Idempotency key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = requestHash(request);
+
+        while (true) {
+            IdempotencyRecord recorded = findRecord(key);
+            if (recorded != null) {
+                return replay(recorded, requestHash, responseType);
+            }
+
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> first = inFlight.putIfAbsent(key, mine);
+            if (first != null) {
+                // Another request with this key is running; wait for it, then replay its recorded response
+                try {
+                    first.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+                continue;
+            }
+
+            try {
+                T response = recover(key, requestHash, recover).orElse(null);
+                if (response == null) {
+                    try {
+                        response = action.apply(requestHash);
+                    } catch (RuntimeException e) {
+                        // The same key committed concurrently, e.g. on another instance, so this
+                        // run lost on the key's unique constraint or on the resources it booked
+                        response = recover(key, requestHash, recover).orElseThrow(() -> e);
+                    }
+                }
+                record(key, requestHash, response);
+                mine.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    /**
+     * Delete expired records from the database.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = recordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private IdempotencyRecord findRecord(String key) {
+        IdempotencyRecord cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        IdempotencyRecord stored = recordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElse(null);
+        if (stored != null) {
+            cache.put(key, stored, toEpochMillis(stored.getExpiresAt()));
+        }
+        return stored;
+    }
+
+    /**
+     * Hash a request body the way it is compared against the request a key was first used with.
+     *
+     * @param request the request body
+     * @return the SHA-256 hash of its JSON form, in lowercase hex
+     */
+    String requestHash(Object request) {
+        return hash(toJson(request));
+    }
+
+    private <T> Optional<T> recover(String key, String requestHash,
+                                    Function<String, Optional<StoredResult<T>>> recover) {
+        return recover.apply(key).map(stored -> {
+            if (!requestHash.equals(stored.requestHash())) {
+                throw new InvalidOperationException("Idempotency key was already used for a different request");
+            }
+            return stored.response();
+        });
+    }
+
+    private <T> T replay(IdempotencyRecord recorded, String requestHash, Class<T> responseType) {
+        if (!recorded.getRequestHash().equals(requestHash)) {
+            throw new InvalidOperationException("Idempotency key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(recorded.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read recorded response for idempotency key", e);
+        }
+    }
+
+    private void record(String key, String requestHash, Object response) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord(key, requestHash, toJson(response), now, now.plus(ttl));
+        cache.put(key, record, toEpochMillis(record.getExpiresAt()));
+        try {
+            recordRepository.save(record);
+        } catch (RuntimeException e) {
+            // The response was produced; losing the durable copy only weakens protection across restarts
+            log.warn("Could not store idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize value for idempotency check", e);
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,427 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.cache.ExpiringLruCache;
+import com.hotel.reservation.entity.ImageAlias;
+import com.hotel.reservation.entity.ImageBlob;
+import com.hotel.reservation.repository.ImageAliasRepository;
+import com.hotel.reservation.repository.ImageBlobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image storage.
+ * Uploads are streamed through a SHA-256 digest into a temporary file and then moved
+ * atomically to blobs/{first two hex digits}/{digest}.{extension}, so identical uploads
+ * share one file and one reference-counted image_blobs row. Files stored under random
+ * names before this scheme are migrated at startup and keep resolving through aliases.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageStorageService {
+
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,10}");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+    private static final String DEFAULT_EXTENSION = "jpg";
+
+    private static final String BLOBS_DIR = "blobs";
+    private static final String TEMP_DIR = "tmp";
+
+    private final ImageBlobRepository blobRepository;
+    private final ImageAliasRepository aliasRepository;
+    private final ImageVariantService imageVariantService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${images.upload-dir:/app/uploads}")
+    private String uploadDirectory;
+
+    @Value("${images.alias-cache.max-entries:10000}")
+    private int maxCachedAliases;
+
+    private Path uploadDir;
+    private Path blobsDir;
+    private Path tempDir;
+    private TransactionTemplate transactionTemplate;
+
+    // Legacy filename to blob filename; aliases never change, they are only deleted
+    private ExpiringLruCache<String, String> aliasCache;
+
+    /**
+     * An image after it has been stored.
+     *
+     * @param filename the content-addressed filename to serve the image under
+     * @param file the stored file
+     * @param deduplicated true when identical content was already stored
+     */
+    public record StoredImage(String filename, Path file, boolean deduplicated) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        uploadDir = Paths.get(uploadDirectory).toAbsolutePath().normalize();
+        blobsDir = uploadDir.resolve(BLOBS_DIR);
+        tempDir = uploadDir.resolve(TEMP_DIR);
+        Files.createDirectories(blobsDir);
+        Files.createDirectories(tempDir);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        aliasCache = new ExpiringLruCache<>(maxCachedAliases);
+    }
+
+    /**
+     * Store an uploaded image, reusing the existing blob if the same content is already stored.
+     *
+     * @param in the upload
+     * @param originalFilename the client's filename, used only for its extension
+     * @return the stored image
+     * @throws IOException if the upload could not be read or written
+     */
+    public StoredImage store(InputStream in, String originalFilename) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digesting = new DigestInputStream(in, digest)) {
+                size = Files.copy(digesting, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            ImageBlob blob = inTransaction(() -> addReference(sha256, extensionOf(originalFilename), size, temp, true));
+            return new StoredImage(blob.getFilename(), blobPath(blob), blob.getRefCount() > 1);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Find the file behind an image filename.
+     * Content-addressed names map straight to their blob without a query; other names
+     * are looked up as aliases, or found in place if they have not been migrated yet.
+     *
+     * @param filename the filename from the image URL
+     * @return the stored file, or empty if there is none
+     */
+    public Optional<Path> locate(String filename) {
+        if (CONTENT_ADDRESSED_NAME.matcher(filename).matches()) {
+            return Optional.of(blobPath(filename));
+        }
+
+        String blobFilename = aliasCache.get(filename);
+        if (blobFilename == null) {
+            blobFilename = aliasRepository.findByFilename(filename)
+                    .map(alias -> alias.getBlob().getFilename())
+                    .orElse(null);
+            if (blobFilename != null) {
+                aliasCache.put(filename, blobFilename);
+            }
+        }
+        if (blobFilename != null) {
+            return Optional.of(blobPath(blobFilename));
+        }
+
+        Path legacy = uploadDir.resolve(filename).normalize();
+        return legacy.getParent().equals(uploadDir) && Files.isRegularFile(legacy)
+                ? Optional.of(legacy)
+                : Optional.empty();
+    }
+
+    /**
+     * Drop one reference to an image. The blob's file and variants are deleted with
+     * its last reference.
+     *
+     * @param filename the filename from the image URL
+     * @return true if the image existed
+     * @throws IOException if a file could not be deleted
+     */
+    public boolean delete(String filename) throws IOException {
+        if (!CONTENT_ADDRESSED_NAME.matcher(filename).matches()
+                && !aliasRepository.existsByFilename(filename)) {
+            // Not migrated yet, so the file is still the only record of the image.
+            // Directories such as blobs and tmp live next to legacy files and are never images.
+            Path legacy = uploadDir.resolve(filename).normalize();
+            if (!legacy.getParent().equals(uploadDir) || !Files.isRegularFile(legacy)) {
+                return false;
+            }
+            imageVariantService.deleteVariants(legacy);
+            return Files.deleteIfExists(legacy);
+        }
+
+        Boolean deleted = inTransaction(() -> {
+            String sha256;
+            if (CONTENT_ADDRESSED_NAME.matcher(filename).matches()) {
+                sha256 = filename.substring(0, filename.indexOf('.'));
+            } else {
+                ImageAlias alias = aliasRepository.findByFilename(filename).orElse(null);
+                if (alias == null) {
+                    return false;
+                }
+                sha256 = alias.getBlob().getSha256();
+                aliasRepository.delete(alias);
+                TransactionHooks.afterCommit(() -> aliasCache.remove(filename));
+            }
+            return removeReference(sha256);
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    /**
+     * Delete a blob that no room references, together with its row, aliases and variants.
+     * The blob row is locked first and the time of its last reference checked under the lock,
+     * so an upload of the same content, which updates that time while holding the lock, either
+     * keeps the blob or waits and then stores the file afresh. Without a row, or for rows that
+     * predate the column, the file's modification time is checked instead, and the lock query
+     * still blocks the row from being inserted until the file is gone.
+     *
+     * @param blobFilename the content-addressed filename
+     * @param cutoff the blob is kept if it was last referenced after this time
+     * @return true if the blob was deleted
+     * @throws IOException if a file could not be deleted
+     */
+    public boolean deleteOrphanBlob(String blobFilename, FileTime cutoff) throws IOException {
+        if (!isBlobFilename(blobFilename)) {
+            return false;
+        }
+        String sha256 = blobFilename.substring(0, blobFilename.indexOf('.'));
+        Boolean deleted = inTransaction(() -> {
+            ImageBlob blob = blobRepository.findBySha256ForUpdate(sha256).orElse(null);
+            Path file = blobPath(blobFilename);
+            try {
+                if (!Files.exists(file) || lastReferenced(blob, file).compareTo(cutoff) > 0) {
+                    return false;
+                }
+                if (blob != null) {
+                    aliasRepository.deleteByBlob(blob);
+                    blobRepository.delete(blob);
+                    blobRepository.flush();
+                    TransactionHooks.afterCommit(() ->
+                            aliasCache.removeIf((alias, target) -> target.equals(blobFilename)));
+                }
+                imageVariantService.deleteVariants(file);
+                return Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    private static FileTime lastReferenced(ImageBlob blob, Path file) throws IOException {
+        if (blob == null || blob.getLastReferencedAt() == null) {
+            return Files.getLastModifiedTime(file);
+        }
+        return FileTime.from(blob.getLastReferencedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Check if a filename is the name of a blob, as opposed to a legacy name.
+     *
+     * @param filename the filename from an image URL
+     * @return true for content-addressed filenames
+     */
+    public static boolean isBlobFilename(String filename) {
+        return CONTENT_ADDRESSED_NAME.matcher(filename).matches();
+    }
+
+    /**
+     * Get the upload directory, which holds legacy files that have not been migrated yet.
+     *
+     * @return the absolute upload directory
+     */
+    public Path getUploadDir() {
+        return uploadDir;
+    }
+
+    /**
+     * Get the directory blobs are stored under, one subdirectory per leading digest byte.
+     *
+     * @return the blob directory
+     */
+    public Path getBlobsDir() {
+        return blobsDir;
+    }
+
+    /**
+     * Get the directory uploads are written to before they are moved into place.
+     *
+     * @return the temporary directory
+     */
+    public Path getTempDir() {
+        return tempDir;
+    }
+
+    /**
+     * Move files stored under random names before content addressing into the blob store.
+     * Each file is hard-linked into place, recorded under an alias, and only then removed,
+     * so its URL resolves throughout. Files that fail are left for the next startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyFiles() {
+        int migrated = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir, Files::isRegularFile)) {
+            for (Path legacy : files) {
+                try {
+                    migrate(legacy);
+                    migrated++;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not migrate legacy image {}: {}", legacy.getFileName(), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list legacy images in {}: {}", uploadDir, e.getMessage());
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} legacy images to content-addressed storage", migrated);
+        }
+    }
+
+    private void migrate(Path legacy) throws IOException {
+        String filename = legacy.getFileName().toString();
+        if (!aliasRepository.existsByFilename(filename)) {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(Files.newInputStream(legacy), digest)) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            inTransaction(() -> {
+                ImageBlob blob = addReference(sha256, extensionOf(filename), size, legacy, false);
+                aliasRepository.save(new ImageAlias(null, filename, blob));
+                return blob;
+            });
+        }
+        // Variants of the legacy name are regenerated under the blob's name on demand
+        imageVariantService.deleteVariants(legacy);
+        Files.delete(legacy);
+    }
+
+    /**
+     * Add a reference to the blob for some content, placing the content in the blob store
+     * if it is not already there. Runs while the upsert holds the blob row lock, so it
+     * cannot interleave with the deletion of the blob's last reference.
+     *
+     * @param move true to move the source into place, false to link or copy it
+     */
+    private ImageBlob addReference(String sha256, String extension, long size, Path source, boolean move) {
+        blobRepository.addReference(sha256, extension, size, LocalDateTime.now());
+        ImageBlob blob = blobRepository.findBySha256ForUpdate(sha256).orElseThrow();
+        Path target = blobPath(blob);
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                place(source, target, move);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return blob;
+    }
+
+    private void place(Path source, Path target, boolean move) throws IOException {
+        if (move) {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+        try {
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException e) {
+            // Placed concurrently with the same content
+        } catch (UnsupportedOperationException | IOException e) {
+            Path temp = Files.createTempFile(tempDir, "migrate-", ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Remove one reference from a blob, deleting it with its last reference.
+     * The file is deleted while the row lock is held, so an upload of the same content
+     * waits and then finds the file missing and puts it back.
+     */
+    private boolean removeReference(String sha256) {
+        ImageBlob blob = blobRepository.findBySha256ForUpdate(sha256).orElse(null);
+        if (blob == null) {
+            return false;
+        }
+        if (blob.getRefCount() > 1) {
+            blob.setRefCount(blob.getRefCount() - 1);
+            return true;
+        }
+
+        aliasRepository.deleteByBlob(blob);
+        blobRepository.delete(blob);
+        blobRepository.flush();
+        try {
+            Path file = blobPath(blob);
+            imageVariantService.deleteVariants(file);
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    private <T> T inTransaction(Supplier<T> action) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path blobPath(ImageBlob blob) {
+        return blobPath(blob.getFilename());
+    }
+
+    private Path blobPath(String blobFilename) {
+        return blobsDir.resolve(blobFilename.substring(0, 2)).resolve(blobFilename);
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null || filename.lastIndexOf('.') < 0) {
+            return DEFAULT_EXTENSION;
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? extension : DEFAULT_EXTENSION;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.cache.ExpiringLruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates downscaled variants of uploaded images on a small bounded worker pool.
+ * Each configured width gets one variant, never wider than the original, re-encoded
+ * without the original's metadata. Since that drops the EXIF orientation tag, JPEGs are
+ * turned upright according to the tag before scaling. PNG and GIF uploads keep transparency as PNG;
+ * everything else becomes JPEG. Uploads never wait for this work: until a variant
+ * exists the original is served, and a missing variant is queued again on request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    private static final String VARIANTS_DIR = "variants";
+    private static final Pattern VARIANT_NAME = Pattern.compile("(.+)-w\\d+\\.(?:jpg|png)");
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+    private static final int UPRIGHT = 1;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${images.upload-dir:/app/uploads}")
+    private String uploadDirectory;
+
+    @Value("${images.variants.widths:320,640,1280}")
+    private int[] widths;
+
+    @Value("${images.variants.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    @Value("${images.variants.workers:2}")
+    private int workerCount;
+
+    @Value("${images.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${images.variants.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    private Path variantsDir;
+    private ThreadPoolExecutor workers;
+    private ExecutorService monitoredWorkers;
+
+    // Files currently queued or being processed, so repeated requests do not queue them twice
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // Files that could not be processed, remembered so every request for them does not retry the work
+    private final ExpiringLruCache<String, Boolean> unsupported = new ExpiringLruCache<>(10000);
+
+    @PostConstruct
+    public void start() throws IOException {
+        variantsDir = Paths.get(uploadDirectory).resolve(VARIANTS_DIR);
+        Files.createDirectories(variantsDir);
+        widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    // Resizing is background work and should not compete with request threads
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        monitoredWorkers = ExecutorServiceMetrics.monitor(meterRegistry, workers, "imageVariants");
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Queue variant generation for an uploaded image and return immediately.
+     * When the queue is full the request is dropped; the variants are queued again
+     * the next time one of them is requested.
+     *
+     * @param original the stored original image
+     */
+    public void generateAsync(Path original) {
+        String filename = original.getFileName().toString();
+        if (widths.length == 0 || unsupported.get(filename) != null || !pending.add(filename)) {
+            return;
+        }
+        try {
+            monitoredWorkers.execute(() -> {
+                try {
+                    generate(original);
+                } finally {
+                    pending.remove(filename);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(filename);
+            log.warn("Image variant queue is full, skipping {} for now", filename);
+        }
+    }
+
+    /**
+     * The file to serve for a request.
+     *
+     * @param file the variant or the original
+     * @param pending true when the original stands in for a variant that is still being generated
+     */
+    public record ResolvedImage(Path file, boolean pending) {
+    }
+
+    /**
+     * Find the file to serve for a requested display width.
+     * Picks the smallest variant at least as wide as requested. Falls back to the
+     * original when no width is requested, the request exceeds every variant, or the
+     * variant has not been generated yet, in which case it is queued.
+     *
+     * @param original the stored original image
+     * @param requestedWidth the requested display width in pixels, or null for the original
+     * @return the variant or the original
+     */
+    public ResolvedImage resolve(Path original, Integer requestedWidth) {
+        if (requestedWidth == null) {
+            return new ResolvedImage(original, false);
+        }
+        int width = Arrays.stream(widths).filter(candidate -> candidate >= requestedWidth).findFirst().orElse(-1);
+        if (width < 0) {
+            return new ResolvedImage(original, false);
+        }
+        Path variant = variantPath(original, width);
+        if (Files.isReadable(variant)) {
+            return new ResolvedImage(variant, false);
+        }
+        generateAsync(original);
+        return new ResolvedImage(original, true);
+    }
+
+    /**
+     * List the widths variants are generated at.
+     *
+     * @return the variant widths in ascending order
+     */
+    public List<Integer> getWidths() {
+        return Arrays.stream(widths).boxed().toList();
+    }
+
+    /**
+     * Delete every variant of an image.
+     *
+     * @param original the stored original image
+     * @throws IOException if a variant could not be deleted
+     */
+    public void deleteVariants(Path original) throws IOException {
+        for (Path variant : variantsOf(original)) {
+            Files.deleteIfExists(variant);
+        }
+    }
+
+    /**
+     * List the paths every variant of an image is stored under, whether generated yet or not.
+     *
+     * @param original the stored original image
+     * @return the variant paths
+     */
+    public List<Path> variantsOf(Path original) {
+        return Arrays.stream(widths).mapToObj(width -> variantPath(original, width)).toList();
+    }
+
+    /**
+     * Get the directory variants are stored in.
+     *
+     * @return the variant directory
+     */
+    public Path getVariantsDir() {
+        return variantsDir;
+    }
+
+    /**
+     * Get the name shared by an original and its variants, which is the original's filename
+     * without its extension.
+     *
+     * @param original the stored original image
+     * @return the base name
+     */
+    public static String baseNameOf(Path original) {
+        String filename = original.getFileName().toString();
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    /**
+     * Get the base name of the original a variant was generated from.
+     *
+     * @param variant a file in the variant directory
+     * @return the original's base name, or null if the file is not a variant
+     */
+    public static String originalBaseNameOf(Path variant) {
+        Matcher matcher = VARIANT_NAME.matcher(variant.getFileName().toString());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private void generate(Path original) {
+        String filename = original.getFileName().toString();
+        try {
+            BufferedImage source = decode(original);
+            if (source == null) {
+                unsupported.put(filename, Boolean.TRUE);
+                return;
+            }
+            boolean png = keepsTransparency(original);
+
+            // Scale down from the largest variant to the smallest, each one from the previous
+            BufferedImage current = source;
+            for (int i = widths.length - 1; i >= 0; i--) {
+                int width = Math.min(widths[i], source.getWidth());
+                int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+                current = scale(current, width, height, png);
+                write(current, variantPath(original, widths[i]), png);
+            }
+        } catch (IOException | RuntimeException e) {
+            unsupported.put(filename, Boolean.TRUE);
+            log.warn("Could not generate variants for {}: {}", filename, e.getMessage());
+        }
+    }
+
+    /**
+     * Decode an image upright, subsampling very large sources while reading so that the
+     * decoded raster is never much bigger than the largest variant needs.
+     *
+     * @return the decoded image, or null if ImageIO cannot read it or it is too large
+     */
+    private BufferedImage decode(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.debug("No image reader for {}", original.getFileName());
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxSourcePixels) {
+                    log.warn("Image {} is {}x{}, too large to resize", original.getFileName(), sourceWidth, sourceHeight);
+                    return null;
+                }
+                int orientation = exifOrientation(reader.getImageMetadata(0));
+
+                // Orientations 5 to 8 swap the axes, so the displayed width is the stored height
+                int displayedWidth = orientation >= 5 ? sourceHeight : sourceWidth;
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, displayedWidth / (2 * widths[widths.length - 1]));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return orient(reader.read(0, param), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Read the EXIF orientation tag from the APP1 segment of a JPEG.
+     *
+     * @return the orientation from 1 to 8, or 1 when the image has none
+     */
+    private static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !Arrays.asList(metadata.getMetadataFormatNames()).contains(JPEG_METADATA_FORMAT)) {
+            return UPRIGHT;
+        }
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+        NodeList markers = root.getElementsByTagName("unknown");
+        for (int i = 0; i < markers.getLength(); i++) {
+            IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+            if (Integer.parseInt(marker.getAttribute("MarkerTag")) == APP1_MARKER
+                    && marker.getUserObject() instanceof byte[] segment) {
+                int orientation = exifOrientation(segment);
+                if (orientation != UPRIGHT) {
+                    return orientation;
+                }
+            }
+        }
+        return UPRIGHT;
+    }
+
+    /**
+     * Find the orientation tag in the first image file directory of an EXIF segment.
+     */
+    private static int exifOrientation(byte[] segment) {
+        try {
+            ByteBuffer exif = ByteBuffer.wrap(segment);
+            if (segment.length < 14 || !new String(segment, 0, 4, StandardCharsets.US_ASCII).equals("Exif")) {
+                return UPRIGHT;
+            }
+            // Offsets inside the TIFF structure are relative to its header, after "Exif\0\0"
+            ByteBuffer tiff = exif.position(6).slice();
+            tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int directory = tiff.getInt(4);
+            int entries = Short.toUnsignedInt(tiff.getShort(directory));
+            for (int i = 0; i < entries; i++) {
+                int entry = directory + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(entry)) == EXIF_ORIENTATION_TAG) {
+                    int orientation = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                    return orientation >= 1 && orientation <= 8 ? orientation : UPRIGHT;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            log.debug("Ignoring truncated EXIF segment");
+        }
+        return UPRIGHT;
+    }
+
+    /**
+     * Mirror and rotate an image as an EXIF orientation tag prescribes, so that it displays upright.
+     */
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation == UPRIGHT) {
+            return source;
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean swapsAxes = orientation >= 5;
+        int targetWidth = swapsAxes ? height : width;
+        int targetHeight = swapsAxes ? width : height;
+        int[] pixels = source.getRGB(0, 0, width, height, null, 0, width);
+        int[] oriented = new int[pixels.length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int targetX;
+                int targetY;
+                switch (orientation) {
+                    case 2 -> { targetX = width - 1 - x; targetY = y; }
+                    case 3 -> { targetX = width - 1 - x; targetY = height - 1 - y; }
+                    case 4 -> { targetX = x; targetY = height - 1 - y; }
+                    case 5 -> { targetX = y; targetY = x; }
+                    case 6 -> { targetX = height - 1 - y; targetY = x; }
+                    case 7 -> { targetX = height - 1 - y; targetY = width - 1 - x; }
+                    default -> { targetX = y; targetY = width - 1 - x; }
+                }
+                oriented[targetY * targetWidth + targetX] = pixels[y * width + x];
+            }
+        }
+        int imageType = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, imageType);
+        target.setRGB(0, 0, targetWidth, targetHeight, oriented, 0, targetWidth);
+        return target;
+    }
+
+    /**
+     * Scale an image to a target size, halving repeatedly first so that bilinear
+     * filtering never skips pixels.
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight, boolean keepAlpha) {
+        int imageType = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(height / 2, targetHeight);
+            current = draw(current, width, height, imageType);
+        } while (width > targetWidth || height > targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int imageType) {
+        BufferedImage target = new BufferedImage(width, height, imageType);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (imageType == BufferedImage.TYPE_INT_RGB) {
+                // JPEG has no alpha channel, so transparent areas become white instead of black
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Encode a variant without metadata into a temporary file, then move it into place
+     * so that readers never see a partly written variant.
+     */
+    private void write(BufferedImage image, Path target, boolean png) throws IOException {
+        Path temp = Files.createTempFile(variantsDir, "variant-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(png ? "png" : "jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (!png) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(jpegQuality);
+                    param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path variantPath(Path original, int width) {
+        return variantsDir.resolve(baseNameOf(original) + "-w" + width + (keepsTransparency(original) ? ".png" : ".jpg"));
+    }
+
+    private static boolean keepsTransparency(Path original) {
+        String filename = original.getFileName().toString().toLowerCase(Locale.ROOT);
+        return filename.endsWith(".png") || filename.endsWith(".gif");
+    }
+}
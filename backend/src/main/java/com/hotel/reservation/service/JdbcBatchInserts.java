@@ -0,0 +1,54 @@
+package com.hotel.reservation.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for JDBC batch inserts into tables with AUTO_INCREMENT keys, which Hibernate
+ * cannot batch because it needs each generated key before the next insert.
+ */
+public final class JdbcBatchInserts {
+
+    private JdbcBatchInserts() {
+    }
+
+    /**
+     * Run a JDBC batch insert and return the generated keys in row order.
+     * MySQL returns one AUTO_INCREMENT key per row, also for rewritten multi-row inserts.
+     *
+     * @param jdbcTemplate the template, bound to the current transaction's connection
+     * @param sql the insert statement
+     * @param rows the parameters of each row
+     * @return the generated key of each row
+     */
+    public static List<Long> insertReturningKeys(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != rows.size()) {
+                    throw new IllegalStateException("Expected " + rows.size() + " generated keys but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+}
@@ -0,0 +1,341 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.repository.ImageAliasRepository;
+import com.hotel.reservation.repository.RoomImageRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep collector for uploaded images that no room references any more, such as
+ * the images of deleted rooms or main images replaced by a room update.
+ * The mark phase streams every image URL from rooms and room_images. The sweep phase walks
+ * the upload directory and deletes unreferenced files older than a grace period, so uploads
+ * that have not been attached to a room yet are kept. Deletions run in small batches with a
+ * pause between them on a low-priority thread, so a large backlog does not compete with
+ * request I/O.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrphanImageCollector {
+
+    private static final String IMAGE_URL_PATH = "/api/images/";
+
+    private final RoomRepository roomRepository;
+    private final RoomImageRepository roomImageRepository;
+    private final ImageAliasRepository aliasRepository;
+    private final ImageStorageService storageService;
+    private final ImageVariantService imageVariantService;
+    private final RoomCatalogVersion catalogVersion;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${images.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${images.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${images.gc.batch-size:100}")
+    private int batchSize;
+
+    @Value("${images.gc.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    private TransactionTemplate readOnlyTransaction;
+    private ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter deletedFiles;
+    private Counter deletedBytes;
+
+    /**
+     * The images referenced by rooms when they were last marked.
+     *
+     * @param blobs the referenced content-addressed filenames, including those behind referenced aliases
+     * @param legacyFiles the referenced legacy filenames
+     * @param catalogVersion the catalog version read before marking
+     */
+    private record LiveImages(Set<String> blobs, Set<String> legacyFiles, long catalogVersion) {
+    }
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "orphan-image-collector");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        deletedFiles = Counter.builder("images.orphans.deleted")
+                .description("The number of unreferenced upload files deleted")
+                .register(meterRegistry);
+        deletedBytes = Counter.builder("images.orphans.deleted.bytes")
+                .description("The disk space freed by deleting unreferenced upload files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Start a collection on the collector's own thread, so the long sweep never holds up
+     * the shared scheduler. Does nothing while the previous collection is still running.
+     */
+    @Scheduled(initialDelayString = "${images.gc.initial-delay-ms:600000}",
+            fixedDelayString = "${images.gc.interval-ms:21600000}")
+    public void scheduleCollection() {
+        if (enabled && running.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                try {
+                    collect();
+                } catch (RuntimeException e) {
+                    log.warn("Orphan image collection failed: {}", e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Run one collection: mark the referenced images, then sweep the upload directory.
+     * Originals are swept before variants, so variants are deleted exactly when their
+     * original is gone.
+     */
+    public void collect() {
+        long startedAt = System.currentTimeMillis();
+        FileTime cutoff = FileTime.fromMillis(startedAt - Duration.ofHours(gracePeriodHours).toMillis());
+        Sweep sweep = new Sweep(mark(), cutoff);
+        try {
+            sweep.walk(storageService.getUploadDir(), 1, true, this::isOrphanLegacyFile);
+            sweep.walk(storageService.getBlobsDir(), 2, true, this::isOrphanBlob);
+            sweep.walk(storageService.getTempDir(), 1, false, (live, file) -> true);
+            sweep.walk(imageVariantService.getVariantsDir(), 1, false, (live, file) -> isOrphanVariant(sweep, file));
+            sweep.flush();
+        } catch (IOException e) {
+            log.warn("Could not walk the upload directory: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        log.info("Orphan image collection deleted {} files ({} bytes) in {} ms",
+                sweep.deleted, sweep.bytes, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Stream every image URL from rooms and galleries and resolve the uploaded ones to the
+     * files they are served from.
+     */
+    private LiveImages mark() {
+        long version = catalogVersion.current();
+        return readOnlyTransaction.execute(status -> {
+            Set<String> blobs = new HashSet<>();
+            Set<String> legacyFiles = new HashSet<>();
+            // One at a time, since the driver allows only one streaming result per connection
+            try (Stream<String> roomUrls = roomRepository.streamImageUrls()) {
+                markUploads(roomUrls, blobs, legacyFiles);
+            }
+            try (Stream<String> galleryUrls = roomImageRepository.streamUrls()) {
+                markUploads(galleryUrls, blobs, legacyFiles);
+            }
+
+            // Migrated legacy names keep their blob alive
+            List<String> aliases = new ArrayList<>(legacyFiles);
+            for (int from = 0; from < aliases.size(); from += 1000) {
+                blobs.addAll(aliasRepository.findBlobFilenames(
+                        aliases.subList(from, Math.min(from + 1000, aliases.size()))));
+            }
+            return new LiveImages(blobs, legacyFiles, version);
+        });
+    }
+
+    private static void markUploads(Stream<String> urls, Set<String> blobs, Set<String> legacyFiles) {
+        urls.map(OrphanImageCollector::uploadedFilename)
+                .filter(Objects::nonNull)
+                .forEach(filename -> (ImageStorageService.isBlobFilename(filename) ? blobs : legacyFiles).add(filename));
+    }
+
+    private boolean isOrphanLegacyFile(LiveImages live, Path file) {
+        return !live.legacyFiles().contains(file.getFileName().toString());
+    }
+
+    private boolean isOrphanBlob(LiveImages live, Path file) {
+        String filename = file.getFileName().toString();
+        return ImageStorageService.isBlobFilename(filename) && !live.blobs().contains(filename);
+    }
+
+    private boolean isOrphanVariant(Sweep sweep, Path file) {
+        String original = ImageVariantService.originalBaseNameOf(file);
+        // Anything else in the variant directory is a leftover temporary file
+        return original == null || !sweep.keptOriginals.contains(original);
+    }
+
+    /**
+     * Get the filename of an uploaded image from its URL.
+     *
+     * @return the filename, or null for external images
+     */
+    private static String uploadedFilename(String url) {
+        int start = url.indexOf(IMAGE_URL_PATH);
+        if (start < 0) {
+            return null;
+        }
+        start += IMAGE_URL_PATH.length();
+        int end = start;
+        while (end < url.length() && url.charAt(end) != '?' && url.charAt(end) != '#') {
+            end++;
+        }
+        return end > start ? url.substring(start, end) : null;
+    }
+
+    @FunctionalInterface
+    private interface OrphanTest {
+        boolean isOrphan(LiveImages live, Path file);
+    }
+
+    /**
+     * The state of one sweep: the current live set, the pending batch of candidates, and the
+     * base names of the originals kept so far.
+     */
+    private final class Sweep {
+
+        private LiveImages live;
+        private final FileTime cutoff;
+        private final List<Candidate> batch = new ArrayList<>();
+        private final Set<String> keptOriginals = new HashSet<>();
+        private long deleted;
+        private long bytes;
+
+        private record Candidate(Path file, long size, OrphanTest test, boolean original) {
+        }
+
+        Sweep(LiveImages live, FileTime cutoff) {
+            this.live = live;
+            this.cutoff = cutoff;
+        }
+
+        /**
+         * Walk a directory, queueing unreferenced files older than the cutoff for deletion.
+         *
+         * @param originals true if the directory holds originals, whose kept base names protect their variants
+         */
+        void walk(Path dir, int maxDepth, boolean originals, OrphanTest test) throws IOException, InterruptedException {
+            if (!Files.isDirectory(dir)) {
+                return;
+            }
+            InterruptedException[] interrupted = new InterruptedException[1];
+            Files.walkFileTree(dir, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (!attributes.isRegularFile()) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    if (attributes.lastModifiedTime().compareTo(cutoff) > 0 || !test.isOrphan(live, file)) {
+                        keep(file, originals);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    batch.add(new Candidate(file, attributes.size(), test, originals));
+                    if (batch.size() >= batchSize) {
+                        try {
+                            flush();
+                        } catch (InterruptedException e) {
+                            interrupted[0] = e;
+                            return FileVisitResult.TERMINATE;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    log.debug("Skipping unreadable upload {}: {}", file, e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            if (interrupted[0] != null) {
+                throw interrupted[0];
+            }
+        }
+
+        /**
+         * Delete the pending batch, then pause. If a room or gallery changed since the live set
+         * was marked, it is marked again first, so an image attached to a room mid-sweep is kept.
+         */
+        void flush() throws InterruptedException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (catalogVersion.current() != live.catalogVersion()) {
+                live = mark();
+            }
+            for (Candidate candidate : batch) {
+                if (!candidate.test().isOrphan(live, candidate.file()) || !delete(candidate)) {
+                    keep(candidate.file(), candidate.original());
+                }
+            }
+            batch.clear();
+            Thread.sleep(batchPauseMillis);
+        }
+
+        private boolean delete(Candidate candidate) {
+            Path file = candidate.file();
+            try {
+                boolean deletedFile = file.startsWith(storageService.getBlobsDir())
+                        ? storageService.deleteOrphanBlob(file.getFileName().toString(), cutoff)
+                        : Files.getLastModifiedTime(file).compareTo(cutoff) <= 0 && Files.deleteIfExists(file);
+                if (deletedFile) {
+                    deleted++;
+                    bytes += candidate.size();
+                    deletedFiles.increment();
+                    deletedBytes.increment(candidate.size());
+                }
+                return deletedFile;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not delete unreferenced upload {}: {}", file.getFileName(), e.getMessage());
+                return false;
+            }
+        }
+
+        private void keep(Path file, boolean original) {
+            if (original) {
+                keptOriginals.add(ImageVariantService.baseNameOf(file));
+            }
+        }
+    }
+}
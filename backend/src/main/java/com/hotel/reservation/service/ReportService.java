@@ -0,0 +1,12 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.dto.OccupancyReportDTO;
+import com.hotel.reservation.entity.RoomType;
+import java.time.LocalDate;
+
+/**
+ * Service interface for management reports.
+ */
+public interface ReportService {
+    OccupancyReportDTO getOccupancyReport(LocalDate from, LocalDate to, RoomType roomType);
+}
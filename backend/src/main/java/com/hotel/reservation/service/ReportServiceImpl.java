@@ -0,0 +1,175 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.dto.DailyOccupancyDTO;
+import com.hotel.reservation.dto.OccupancyMetricsDTO;
+import com.hotel.reservation.dto.OccupancyReportDTO;
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.ReservationRevenueSpan;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.repository.RoomTypeCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for management reports.
+ * The occupancy report expands every reservation into per-night contributions with a sweep
+ * line: each stay adds its rooms and nightly revenue to a difference array at its first
+ * night in the range and subtracts them after its last, and one prefix sum per room type
+ * turns the differences into nightly totals. The cost is one pass over the reservations
+ * plus one pass over the nights, however long the stays are.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportServiceImpl implements ReportService {
+
+    private static final int MAX_REPORT_NIGHTS = 3 * 366;
+
+    // Nightly revenue is split from stay totals with extra precision and rounded only for output
+    private static final int REVENUE_SCALE = 6;
+    private static final int MONEY_SCALE = 2;
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+
+    /**
+     * Per-night rooms sold and revenue of one room type, as difference arrays while the
+     * reservations are swept and as nightly totals afterwards.
+     */
+    private static final class NightlyTotals {
+
+        private final long[] roomsSold;
+        private final BigDecimal[] revenue;
+
+        NightlyTotals(int nights) {
+            roomsSold = new long[nights + 1];
+            revenue = new BigDecimal[nights + 1];
+            Arrays.fill(revenue, BigDecimal.ZERO);
+        }
+
+        void add(int firstNight, int endNight, int rooms, BigDecimal nightlyRevenue) {
+            roomsSold[firstNight] += rooms;
+            roomsSold[endNight] -= rooms;
+            revenue[firstNight] = revenue[firstNight].add(nightlyRevenue);
+            revenue[endNight] = revenue[endNight].subtract(nightlyRevenue);
+        }
+
+        void accumulate() {
+            for (int night = 1; night < roomsSold.length; night++) {
+                roomsSold[night] += roomsSold[night - 1];
+                revenue[night] = revenue[night].add(revenue[night - 1]);
+            }
+        }
+
+        void addTo(NightlyTotals total) {
+            for (int night = 0; night < roomsSold.length; night++) {
+                total.roomsSold[night] += roomsSold[night];
+                total.revenue[night] = total.revenue[night].add(revenue[night]);
+            }
+        }
+    }
+
+    @Override
+    public OccupancyReportDTO getOccupancyReport(LocalDate from, LocalDate to, RoomType roomType) {
+        if (!to.isAfter(from)) {
+            throw new InvalidOperationException("Report end date must be after its start date");
+        }
+        int nights = (int) ChronoUnit.DAYS.between(from, to);
+        if (nights > MAX_REPORT_NIGHTS) {
+            throw new InvalidOperationException("Report range must not exceed " + MAX_REPORT_NIGHTS + " nights");
+        }
+
+        Map<RoomType, Long> roomCounts = new EnumMap<>(RoomType.class);
+        for (RoomTypeCount count : roomRepository.countByRoomType()) {
+            if (roomType == null || count.getRoomType() == roomType) {
+                roomCounts.put(count.getRoomType(), count.getRooms());
+            }
+        }
+        Map<RoomType, NightlyTotals> totalsByType = new EnumMap<>(RoomType.class);
+        roomCounts.keySet().forEach(type -> totalsByType.put(type, new NightlyTotals(nights)));
+
+        // Single pass over every sold reservation that occupies a night of the range
+        try (Stream<ReservationRevenueSpan> spans = roomType != null
+                ? reservationRepository.streamRevenueSpansByRoomTypeInRange(roomType, from, to, ReservationStatus.SOLD)
+                : reservationRepository.streamRevenueSpansInRange(from, to, ReservationStatus.SOLD)) {
+            spans.forEach(span -> {
+                NightlyTotals totals = totalsByType.get(span.getRoomType());
+                long stayNights = ChronoUnit.DAYS.between(span.getCheckInDate(), span.getCheckOutDate());
+                int firstNight = (int) Math.max(ChronoUnit.DAYS.between(from, span.getCheckInDate()), 0);
+                int endNight = (int) Math.min(ChronoUnit.DAYS.between(from, span.getCheckOutDate()), nights);
+                if (totals == null || stayNights <= 0 || endNight <= firstNight) {
+                    return;
+                }
+                BigDecimal nightlyRevenue = span.getTotalPrice()
+                        .divide(BigDecimal.valueOf(stayNights), REVENUE_SCALE, RoundingMode.HALF_EVEN);
+                totals.add(firstNight, endNight, span.getNumberOfRooms(), nightlyRevenue);
+            });
+        }
+
+        NightlyTotals hotelTotals = new NightlyTotals(nights);
+        List<OccupancyMetricsDTO> roomTypeMetrics = new ArrayList<>();
+        totalsByType.forEach((type, totals) -> {
+            totals.accumulate();
+            totals.addTo(hotelTotals);
+            roomTypeMetrics.add(toMetrics(type, roomCounts.get(type), totals, from, nights));
+        });
+        long totalRooms = roomCounts.values().stream().mapToLong(Long::longValue).sum();
+        OccupancyMetricsDTO total = toMetrics(null, totalRooms, hotelTotals, from, nights);
+        return new OccupancyReportDTO(from, to, nights, total, roomTypeMetrics);
+    }
+
+    private OccupancyMetricsDTO toMetrics(RoomType roomType, long rooms, NightlyTotals totals,
+                                          LocalDate from, int nights) {
+        List<DailyOccupancyDTO> days = new ArrayList<>(nights);
+        long roomNightsSold = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (int night = 0; night < nights; night++) {
+            long sold = totals.roomsSold[night];
+            BigDecimal nightRevenue = totals.revenue[night];
+            days.add(new DailyOccupancyDTO(from.plusDays(night), sold, occupancyRate(sold, rooms),
+                    money(nightRevenue), perNight(nightRevenue, sold), perNight(nightRevenue, rooms)));
+            roomNightsSold += sold;
+            revenue = revenue.add(nightRevenue);
+        }
+        long roomNightsAvailable = rooms * nights;
+        return new OccupancyMetricsDTO(roomType, rooms, roomNightsAvailable, roomNightsSold,
+                occupancyRate(roomNightsSold, roomNightsAvailable), money(revenue),
+                perNight(revenue, roomNightsSold), perNight(revenue, roomNightsAvailable), days);
+    }
+
+    private static BigDecimal occupancyRate(long sold, long available) {
+        if (available == 0) {
+            return BigDecimal.ZERO.setScale(MONEY_SCALE);
+        }
+        return BigDecimal.valueOf(sold).multiply(ONE_HUNDRED)
+                .divide(BigDecimal.valueOf(available), MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal perNight(BigDecimal revenue, long roomNights) {
+        if (roomNights == 0) {
+            return BigDecimal.ZERO.setScale(MONEY_SCALE);
+        }
+        return revenue.divide(BigDecimal.valueOf(roomNights), MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,212 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.exception.InvalidOperationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional group-commit pipeline for reservation creation.
+ * Requests are queued and a few writer threads drain them in micro-batches:
+ * each batch checks availability with one query and commits all of its winners
+ * in a single transaction, which absorbs bursts far better than one transaction per request.
+ * When the queue is full, or a request carries a hold token, the request is booked
+ * synchronously on the caller's thread instead.
+ * A queued request is claimed by exactly one party: a writer that is about to book it, or
+ * the caller giving up after the response timeout. A caller only reports a timeout for a
+ * request no writer has claimed, so a reported failure never turns into a booking later.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationBookingPipeline {
+
+    private final ReservationService reservationService;
+
+    @Value("${reservation.pipeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${reservation.pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${reservation.pipeline.writers:2}")
+    private int writerCount;
+
+    @Value("${reservation.pipeline.batch-size:100}")
+    private int batchSize;
+
+    @Value("${reservation.pipeline.linger-ms:5}")
+    private long lingerMillis;
+
+    @Value("${reservation.pipeline.response-timeout-ms:30000}")
+    private long responseTimeoutMillis;
+
+    private BlockingQueue<PendingBooking> queue;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running;
+
+    private record PendingBooking(ReservationRequest request, CompletableFuture<ReservationResponse> result,
+                                  AtomicBoolean claimed) {
+
+        PendingBooking(ReservationRequest request) {
+            this(request, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        /**
+         * Take ownership of the booking.
+         *
+         * @return true if nobody claimed it before
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drainLoop, "booking-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+        log.info("Booking pipeline started with {} writers, batches of up to {}", writerCount, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writers.forEach(Thread::interrupt);
+        if (queue != null) {
+            List<PendingBooking> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            abandoned.stream().filter(PendingBooking::claim).forEach(pending -> pending.result().completeExceptionally(
+                    new InvalidOperationException("Server is shutting down, please retry the booking")));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Book a reservation through the pipeline and wait for its outcome.
+     * If no writer has picked the request up within the response timeout, it is withdrawn
+     * from the queue and the caller can safely retry. Once a writer has picked it up, the
+     * caller waits for the outcome of its transaction.
+     *
+     * @param request the reservation request
+     * @return the created reservation response
+     */
+    public ReservationResponse book(ReservationRequest request) {
+        PendingBooking pending = new PendingBooking(request);
+        if (request.getHoldToken() != null || !queue.offer(pending)) {
+            return reservationService.createReservation(request);
+        }
+
+        try {
+            try {
+                return pending.result().get(responseTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claim()) {
+                    queue.remove(pending);
+                    throw new InvalidOperationException("Booking queue is busy and the booking was not made, please retry");
+                }
+                return pending.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Booking failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.claim()) {
+                queue.remove(pending);
+                throw new InvalidOperationException("Booking was interrupted and not made");
+            }
+            throw new InvalidOperationException("Booking was interrupted, please check your reservations");
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingBooking> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingBooking first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Linger briefly so that a burst fills the batch instead of committing one by one
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    PendingBooking next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                // Skip requests whose callers already gave up
+                batch.removeIf(pending -> !pending.claim());
+                if (!batch.isEmpty()) {
+                    process(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PendingBooking> batch) {
+        List<ReservationRequest> requests = batch.stream().map(PendingBooking::request).toList();
+        long started = System.nanoTime();
+        try {
+            List<BookingOutcome> outcomes = reservationService.createReservations(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                BookingOutcome outcome = outcomes.get(i);
+                if (outcome.isSuccess()) {
+                    batch.get(i).result().complete(outcome.getResponse());
+                } else {
+                    batch.get(i).result().completeExceptionally(outcome.getFailure());
+                }
+            }
+            log.debug("Committed booking batch of {} in {} ms", batch.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            // The whole batch rolled back, e.g. on a night taken by a concurrent synchronous booking
+            log.warn("Booking batch of {} failed, retrying requests one by one: {}", batch.size(), e.getMessage());
+            for (PendingBooking pending : batch) {
+                try {
+                    pending.result().complete(reservationService.createReservation(pending.request()));
+                } catch (RuntimeException failure) {
+                    pending.result().completeExceptionally(failure);
+                }
+            }
+        }
+    }
+}
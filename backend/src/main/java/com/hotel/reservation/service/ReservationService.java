@@ -1,20 +1,31 @@
 package com.hotel.reservation.service;
 
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.dto.ReservationDTO;
 import com.hotel.reservation.dto.ReservationRequest;
 import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.export.ExportFormat;
 import java.time.LocalDate;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service interface for Reservation operations.
  */
 public interface ReservationService {
     ReservationResponse createReservation(ReservationRequest request);
+    List<BookingOutcome> createReservations(List<ReservationRequest> requests);
     ReservationDTO updateReservation(Long id, ReservationRequest request);
     ReservationDTO cancelReservation(Long id);
     ReservationDTO getReservationById(Long id);
+    Optional<IdempotencyService.StoredResult<ReservationResponse>> findCreatedReservation(String idempotencyKey);
     List<ReservationDTO> getAllReservations();
+    KeysetPage<ReservationDTO> getReservationsPage(KeysetPageRequest request);
+    void exportReservations(ExportFormat format, OutputStream out) throws IOException;
     List<ReservationDTO> getReservationsByGuest(Long guestId);
     ReservationDTO confirmReservation(Long id);
     boolean checkRoomAvailability(Long roomId, LocalDate checkInDate, LocalDate checkOutDate);
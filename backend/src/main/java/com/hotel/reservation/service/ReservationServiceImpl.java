@@ -1,5 +1,8 @@
 package com.hotel.reservation.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.dto.ReservationDTO;
 import com.hotel.reservation.dto.ReservationRequest;
 import com.hotel.reservation.dto.ReservationResponse;
@@ -7,18 +10,37 @@ import com.hotel.reservation.entity.*;
 import com.hotel.reservation.exception.InvalidOperationException;
 import com.hotel.reservation.exception.ResourceNotFoundException;
 import com.hotel.reservation.exception.RoomNotAvailableException;
+import com.hotel.reservation.export.ExportFormat;
+import com.hotel.reservation.export.ExportWriter;
+import com.hotel.reservation.repository.BookedNight;
 import com.hotel.reservation.repository.GuestRepository;
+import com.hotel.reservation.repository.KeysetPaginator;
 import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightRepository;
 import com.hotel.reservation.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for Reservation operations.
@@ -28,52 +50,147 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReservationServiceImpl implements ReservationService {
 
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of("checkInDate", "checkOutDate", "createdAt", "totalPrice");
+
+    private static final List<String> FETCHED_ASSOCIATIONS = List.of("guest", "room");
+
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservations (guest_id, room_id, check_in_date, check_out_date, number_of_guests, " +
+            "number_of_rooms, special_requests, total_price, status, created_at, idempotency_key, " +
+            "idempotency_request_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final ReservationRepository reservationRepository;
     private final GuestRepository guestRepository;
     private final RoomRepository roomRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomNightInventory roomNightInventory;
+    private final BookingHoldRegistry holdRegistry;
+    private final RoomSearchCache searchCache;
+    private final KeysetPaginator keysetPaginator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public ReservationResponse createReservation(ReservationRequest request) {
         // Validate dates
         validateDates(request.getCheckInDate(), request.getCheckOutDate());
 
-        // Get guest and room
+        // Lock the room row so concurrent bookings of the same room are checked one at a time.
+        // This must be the first read: under REPEATABLE READ the first plain read fixes the
+        // snapshot, and a snapshot taken before the lock would miss bookings committed while waiting.
+        Room room = roomRepository.findByIdForUpdate(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", request.getRoomId()));
         Guest guest = guestRepository.findById(request.getGuestId())
                 .orElseThrow(() -> new ResourceNotFoundException("Guest", "id", request.getGuestId()));
 
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", request.getRoomId()));
+        // A hold token must cover exactly the requested stay; it shields the stay from other holds
+        String holdToken = request.getHoldToken();
+        if (holdToken != null) {
+            holdRegistry.find(holdToken)
+                    .filter(hold -> hold.getRoomId().equals(room.getId())
+                            && hold.getCheckInDate().equals(request.getCheckInDate())
+                            && hold.getCheckOutDate().equals(request.getCheckOutDate()))
+                    .orElseThrow(() -> new InvalidOperationException(
+                            "Hold has expired or does not match the requested room and dates"));
+        }
 
         // Check room availability
-        if (!checkRoomAvailability(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())) {
+        if (!isBookable(room.getId(), request.getCheckInDate(), request.getCheckOutDate(), holdToken)) {
             throw new RoomNotAvailableException(
                     "Room " + room.getRoomNumber() + " is not available for the selected dates");
         }
 
-        // Calculate total price (price per night * number of nights * number of rooms)
-        BigDecimal totalPrice = calculateTotalPrice(room.getPrice(), request.getCheckInDate(), request.getCheckOutDate(), request.getNumberOfRooms());
-
-        // Create reservation
-        Reservation reservation = new Reservation();
-        reservation.setGuest(guest);
-        reservation.setRoom(room);
-        reservation.setCheckInDate(request.getCheckInDate());
-        reservation.setCheckOutDate(request.getCheckOutDate());
-        reservation.setNumberOfGuests(request.getNumberOfGuests());
-        reservation.setNumberOfRooms(request.getNumberOfRooms());
-        reservation.setSpecialRequests(request.getSpecialRequests());
-        reservation.setTotalPrice(totalPrice);
-        reservation.setStatus(ReservationStatus.PENDING);
-
-        Reservation savedReservation = reservationRepository.save(reservation);
+        Reservation savedReservation = reservationRepository.save(newReservation(guest, room, request));
+        roomNightInventory.reserve(savedReservation);
+        availabilityIndex.onReservationCreated(room.getId(), request.getCheckInDate(), request.getCheckOutDate());
+        searchCache.onNightsChanged(request.getCheckInDate(), request.getCheckOutDate());
+        if (holdToken != null) {
+            TransactionHooks.afterCommit(() -> holdRegistry.release(holdToken));
+        }
         ReservationDTO reservationDTO = convertToDTO(savedReservation);
 
         return new ReservationResponse(reservationDTO, "Reservation created successfully");
     }
 
+    @Override
+    public List<BookingOutcome> createReservations(List<ReservationRequest> requests) {
+        Set<Long> guestIds = requests.stream().map(ReservationRequest::getGuestId).collect(Collectors.toSet());
+        Set<Long> roomIds = requests.stream().map(ReservationRequest::getRoomId).collect(Collectors.toSet());
+        LocalDate from = requests.stream().map(ReservationRequest::getCheckInDate)
+                .min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = requests.stream().map(ReservationRequest::getCheckOutDate)
+                .max(LocalDate::compareTo).orElseThrow();
+
+        // One query each for locked rooms, guests and the nights already booked in those rooms.
+        // The rooms are locked first so that the later reads see every booking committed before the lock.
+        Map<Long, Room> rooms = roomRepository.findAllByIdForUpdate(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<Long, Guest> guests = guestRepository.findAllById(guestIds).stream()
+                .collect(Collectors.toMap(Guest::getId, Function.identity()));
+        Map<Long, Set<LocalDate>> bookedNights = new HashMap<>();
+        for (BookedNight night : roomNightRepository.findBookedNights(roomIds, from, to)) {
+            bookedNights.computeIfAbsent(night.getRoomId(), id -> new HashSet<>()).add(night.getNight());
+        }
+
+        // Decide each request in arrival order; earlier winners take their nights from later requests
+        List<BookingOutcome> outcomes = new ArrayList<>();
+        List<Reservation> winners = new ArrayList<>();
+        for (ReservationRequest request : requests) {
+            try {
+                validateDates(request.getCheckInDate(), request.getCheckOutDate());
+                Guest guest = guests.get(request.getGuestId());
+                if (guest == null) {
+                    throw new ResourceNotFoundException("Guest", "id", request.getGuestId());
+                }
+                Room room = rooms.get(request.getRoomId());
+                if (room == null) {
+                    throw new ResourceNotFoundException("Room", "id", request.getRoomId());
+                }
+
+                Set<LocalDate> nights = bookedNights.computeIfAbsent(room.getId(), id -> new HashSet<>());
+                List<LocalDate> stay = request.getCheckInDate().datesUntil(request.getCheckOutDate()).toList();
+                if (holdRegistry.isHeld(room.getId(), request.getCheckInDate(), request.getCheckOutDate(), null)
+                        || stay.stream().anyMatch(nights::contains)) {
+                    throw new RoomNotAvailableException(
+                            "Room " + room.getRoomNumber() + " is not available for the selected dates");
+                }
+                nights.addAll(stay);
+
+                winners.add(newReservation(guest, room, request));
+                outcomes.add(null);
+            } catch (RuntimeException e) {
+                outcomes.add(BookingOutcome.failure(e));
+            }
+        }
+
+        // Insert the winners and all of their nights in this single transaction, each as one JDBC batch
+        insertReservations(winners);
+        roomNightInventory.reserveAll(winners);
+        Iterator<Reservation> saved = winners.iterator();
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) == null) {
+                Reservation reservation = saved.next();
+                availabilityIndex.onReservationCreated(reservation.getRoom().getId(),
+                        reservation.getCheckInDate(), reservation.getCheckOutDate());
+                searchCache.onNightsChanged(reservation.getCheckInDate(), reservation.getCheckOutDate());
+                outcomes.set(i, BookingOutcome.success(
+                        new ReservationResponse(convertToDTO(reservation), "Reservation created successfully")));
+            }
+        }
+        return outcomes;
+    }
+
     @Override
     public ReservationDTO updateReservation(Long id, ReservationRequest request) {
-        Reservation reservation = reservationRepository.findById(id)
+        // Lock the target room before any other read, for the same reason as in createReservation
+        Room room = roomRepository.findByIdForUpdate(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", request.getRoomId()));
+
+        Reservation reservation = reservationRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
 
         // Only allow updates for PENDING reservations
@@ -84,18 +201,20 @@ public class ReservationServiceImpl implements ReservationService {
         // Validate dates
         validateDates(request.getCheckInDate(), request.getCheckOutDate());
 
-        // Get guest and room
+        // Get guest
         Guest guest = guestRepository.findById(request.getGuestId())
                 .orElseThrow(() -> new ResourceNotFoundException("Guest", "id", request.getGuestId()));
 
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", request.getRoomId()));
-
-        // Check room availability (excluding current reservation)
-        if (!room.getId().equals(reservation.getRoom().getId()) || 
+        // Check room availability (excluding current reservation). Only pending and confirmed
+        // reservations hold room nights; completed ones are edited without touching the inventory.
+        boolean staysChanged = ReservationStatus.ROOM_BLOCKING.contains(reservation.getStatus()) && (
+            !room.getId().equals(reservation.getRoom().getId()) ||
             !request.getCheckInDate().equals(reservation.getCheckInDate()) ||
-            !request.getCheckOutDate().equals(reservation.getCheckOutDate())) {
-            
+            !request.getCheckOutDate().equals(reservation.getCheckOutDate()));
+        if (staysChanged) {
+            // Free the current nights first; they are restored on rollback if the new stay is taken
+            roomNightInventory.release(reservation.getId());
+
             if (!checkRoomAvailability(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())) {
                 throw new RoomNotAvailableException(
                         "Room " + room.getRoomNumber() + " is not available for the selected dates");
@@ -105,6 +224,12 @@ public class ReservationServiceImpl implements ReservationService {
         // Calculate new total price
         BigDecimal totalPrice = calculateTotalPrice(room.getPrice(), request.getCheckInDate(), request.getCheckOutDate(), request.getNumberOfRooms());
 
+        availabilityIndex.onReservationsChanged(reservation.getRoom().getId(), room.getId());
+        if (staysChanged) {
+            searchCache.onNightsChanged(reservation.getCheckInDate(), reservation.getCheckOutDate());
+            searchCache.onNightsChanged(request.getCheckInDate(), request.getCheckOutDate());
+        }
+
         // Update reservation
         reservation.setGuest(guest);
         reservation.setRoom(room);
@@ -116,12 +241,15 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setTotalPrice(totalPrice);
 
         Reservation updatedReservation = reservationRepository.save(reservation);
+        if (staysChanged) {
+            roomNightInventory.reserve(updatedReservation);
+        }
         return convertToDTO(updatedReservation);
     }
 
     @Override
     public ReservationDTO cancelReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation reservation = reservationRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
 
         if (reservation.getStatus() == ReservationStatus.CANCELLED) {
@@ -130,36 +258,66 @@ public class ReservationServiceImpl implements ReservationService {
 
         reservation.setStatus(ReservationStatus.CANCELLED);
         Reservation cancelledReservation = reservationRepository.save(reservation);
+        roomNightInventory.release(cancelledReservation.getId());
+        availabilityIndex.onReservationsChanged(cancelledReservation.getRoom().getId());
+        searchCache.onNightsChanged(cancelledReservation.getCheckInDate(), cancelledReservation.getCheckOutDate());
         return convertToDTO(cancelledReservation);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ReservationDTO getReservationById(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        return reservationRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
-        return convertToDTO(reservation);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<IdempotencyService.StoredResult<ReservationResponse>> findCreatedReservation(String idempotencyKey) {
+        return reservationRepository.findByIdempotencyKey(idempotencyKey)
+                .map(reservation -> new IdempotencyService.StoredResult<>(reservation.getIdempotencyRequestHash(),
+                        new ReservationResponse(convertToDTO(reservation), "Reservation created successfully")));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReservationDTO> getAllReservations() {
-        return reservationRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return reservationRepository.findAllDTOs();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ReservationDTO> getReservationsPage(KeysetPageRequest request) {
+        return keysetPaginator.findPage(Reservation.class, request, SORTABLE_FIELDS, FETCHED_ASSOCIATIONS, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportReservations(ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, ReservationDTO.class, objectMapper, out);
+        try (Stream<Reservation> reservations = reservationRepository.streamAllForExport()) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                writer.write(convertToDTO(iterator.next()));
+                // Streamed entities are not needed once written; keep the persistence context small
+                if (++written % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.finish();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReservationDTO> getReservationsByGuest(Long guestId) {
-        return reservationRepository.findByGuestId(guestId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return reservationRepository.findDTOsByGuestId(guestId);
     }
 
     @Override
     public ReservationDTO confirmReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation reservation = reservationRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
 
         if (reservation.getStatus() == ReservationStatus.CANCELLED) {
@@ -178,13 +336,15 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional(readOnly = true)
     public boolean checkRoomAvailability(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
-        List<Reservation> overlappingReservations = reservationRepository.findByRoomIdAndDateRange(
-                roomId, checkInDate, checkOutDate);
+        return isBookable(roomId, checkInDate, checkOutDate, null);
+    }
 
-        // Check if there are any confirmed or pending reservations
-        return overlappingReservations.stream()
-                .noneMatch(r -> r.getStatus() == ReservationStatus.CONFIRMED || 
-                               r.getStatus() == ReservationStatus.PENDING);
+    /**
+     * Check that no reservation and no hold other than the caller's own blocks the stay.
+     */
+    private boolean isBookable(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, String holdToken) {
+        return !holdRegistry.isHeld(roomId, checkInDate, checkOutDate, holdToken)
+                && roomNightInventory.isFree(roomId, checkInDate, checkOutDate);
     }
 
     private void validateDates(LocalDate checkInDate, LocalDate checkOutDate) {
@@ -197,6 +357,50 @@ public class ReservationServiceImpl implements ReservationService {
         }
     }
 
+    /**
+     * Insert new reservations with one JDBC batch and set their generated IDs and creation times.
+     * Hibernate sends one INSERT per IDENTITY entity, so saveAll would not batch them.
+     */
+    private void insertReservations(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            reservation.setCreatedAt(now);
+            rows.add(new Object[]{reservation.getGuest().getId(), reservation.getRoom().getId(),
+                    reservation.getCheckInDate(), reservation.getCheckOutDate(), reservation.getNumberOfGuests(),
+                    reservation.getNumberOfRooms(), reservation.getSpecialRequests(), reservation.getTotalPrice(),
+                    reservation.getStatus().name(), reservation.getCreatedAt(), reservation.getIdempotencyKey(),
+                    reservation.getIdempotencyRequestHash()});
+        }
+
+        List<Long> ids = JdbcBatchInserts.insertReturningKeys(jdbcTemplate, INSERT_RESERVATION_SQL, rows);
+        for (int i = 0; i < reservations.size(); i++) {
+            reservations.get(i).setId(ids.get(i));
+        }
+    }
+
+    private Reservation newReservation(Guest guest, Room room, ReservationRequest request) {
+        // Calculate total price (price per night * number of nights * number of rooms)
+        BigDecimal totalPrice = calculateTotalPrice(room.getPrice(), request.getCheckInDate(), request.getCheckOutDate(), request.getNumberOfRooms());
+
+        Reservation reservation = new Reservation();
+        reservation.setGuest(guest);
+        reservation.setRoom(room);
+        reservation.setCheckInDate(request.getCheckInDate());
+        reservation.setCheckOutDate(request.getCheckOutDate());
+        reservation.setNumberOfGuests(request.getNumberOfGuests());
+        reservation.setNumberOfRooms(request.getNumberOfRooms());
+        reservation.setSpecialRequests(request.getSpecialRequests());
+        reservation.setTotalPrice(totalPrice);
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setIdempotencyKey(request.getIdempotencyKey());
+        reservation.setIdempotencyRequestHash(request.getIdempotencyRequestHash());
+        return reservation;
+    }
+
     private BigDecimal calculateTotalPrice(BigDecimal pricePerNight, LocalDate checkInDate, LocalDate checkOutDate, Integer numberOfRooms) {
         long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
         return pricePerNight.multiply(BigDecimal.valueOf(numberOfNights)).multiply(BigDecimal.valueOf(numberOfRooms));
@@ -0,0 +1,222 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.ReservationSpan;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of booked room-nights.
+ * Keeps one bitset per room over a rolling window of nights so that date-range
+ * availability can be answered with a few word-wide operations instead of a query.
+ * The database stays the source of truth: bookings are still checked against it,
+ * and the index is rebuilt at startup and every night to roll the window forward.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    @Value("${availability.index.horizon-days:730}")
+    private int horizonDays;
+
+    private volatile Window window;
+
+    /**
+     * Snapshot of the indexed window. Bitsets are copy-on-write so readers never lock.
+     */
+    private static final class Window {
+        private final LocalDate start;
+        private final int nights;
+        private final Map<Long, long[]> rooms = new ConcurrentHashMap<>();
+
+        private Window(LocalDate start, int nights) {
+            this.start = start;
+            this.nights = nights;
+        }
+
+        private int offset(LocalDate date) {
+            return (int) (date.toEpochDay() - start.toEpochDay());
+        }
+    }
+
+    /**
+     * Load the index from the database, replacing any previous window.
+     * Runs at startup and again every night to roll the window forward.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${availability.index.rebuild-cron:0 5 0 * * *}")
+    public synchronized void rebuild() {
+        LocalDate start = LocalDate.now();
+        Window rebuilt = new Window(start, horizonDays);
+
+        List<ReservationSpan> spans = reservationRepository.findSpansInRange(
+                start, start.plusDays(horizonDays), ReservationStatus.ROOM_BLOCKING);
+        for (ReservationSpan span : spans) {
+            long[] bits = rebuilt.rooms.computeIfAbsent(span.getRoomId(), id -> newBitset(rebuilt));
+            setNights(rebuilt, bits, span.getCheckInDate(), span.getCheckOutDate());
+        }
+
+        window = rebuilt;
+        log.info("Availability index loaded {} reservations for {} rooms from {} over {} nights",
+                spans.size(), rebuilt.rooms.size(), start, horizonDays);
+    }
+
+    /**
+     * Check whether the index can answer availability for a stay.
+     *
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     * @return true if the stay falls inside the indexed window
+     */
+    public boolean covers(LocalDate checkInDate, LocalDate checkOutDate) {
+        Window current = window;
+        return current != null
+                && checkOutDate.isAfter(checkInDate)
+                && current.offset(checkInDate) >= 0
+                && current.offset(checkOutDate) <= current.nights;
+    }
+
+    /**
+     * Check whether a room is free for a stay using only the in-memory index.
+     * Uses the same rule as the room-night inventory: every night from check-in
+     * to the eve of check-out must be free.
+     *
+     * @param roomId the room ID
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     * @return the availability, or empty when the dates fall outside the indexed window
+     */
+    public Optional<Boolean> isAvailable(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        Window current = window;
+        if (current == null || !checkOutDate.isAfter(checkInDate)) {
+            return Optional.empty();
+        }
+
+        int from = current.offset(checkInDate);
+        int to = current.offset(checkOutDate) - 1;
+        if (from < 0 || to >= current.nights) {
+            return Optional.empty();
+        }
+
+        long[] bits = current.rooms.get(roomId);
+        return Optional.of(bits == null || !anySet(bits, from, to));
+    }
+
+    /**
+     * Record the nights of a newly created reservation once its transaction commits.
+     *
+     * @param roomId the room ID
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     */
+    public void onReservationCreated(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        TransactionHooks.afterCommit(() -> markBooked(roomId, checkInDate, checkOutDate));
+    }
+
+    /**
+     * Reload the given rooms from the database once the current transaction commits.
+     * Used after reservations are moved, updated or cancelled.
+     *
+     * @param roomIds the IDs of the rooms whose reservations changed
+     */
+    public void onReservationsChanged(Long... roomIds) {
+        TransactionHooks.afterCommit(() -> {
+            for (Long roomId : roomIds) {
+                refreshRoom(roomId);
+            }
+        });
+    }
+
+    /**
+     * Drop a room from the index once the current transaction commits.
+     *
+     * @param roomId the ID of the deleted room
+     */
+    public void onRoomDeleted(Long roomId) {
+        TransactionHooks.afterCommit(() -> removeRoom(roomId));
+    }
+
+    private synchronized void markBooked(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+        long[] existing = current.rooms.get(roomId);
+        long[] bits = existing != null ? existing.clone() : newBitset(current);
+        setNights(current, bits, checkInDate, checkOutDate);
+        current.rooms.put(roomId, bits);
+    }
+
+    private synchronized void refreshRoom(Long roomId) {
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+        long[] bits = newBitset(current);
+        for (ReservationSpan span : reservationRepository.findSpansByRoomInRange(
+                roomId, current.start, current.start.plusDays(current.nights), ReservationStatus.ROOM_BLOCKING)) {
+            setNights(current, bits, span.getCheckInDate(), span.getCheckOutDate());
+        }
+        current.rooms.put(roomId, bits);
+    }
+
+    private synchronized void removeRoom(Long roomId) {
+        Window current = window;
+        if (current != null) {
+            current.rooms.remove(roomId);
+        }
+    }
+
+    private static long[] newBitset(Window window) {
+        return new long[(window.nights + 63) >>> 6];
+    }
+
+    /**
+     * Set the bits for every night of a stay that falls inside the window.
+     */
+    private static void setNights(Window window, long[] bits, LocalDate checkInDate, LocalDate checkOutDate) {
+        int from = Math.max(window.offset(checkInDate), 0);
+        int to = Math.min(window.offset(checkOutDate), window.nights);
+        for (int night = from; night < to; night++) {
+            bits[night >>> 6] |= 1L << night;
+        }
+    }
+
+    /**
+     * Check whether any bit between two offsets (both inclusive) is set, one word at a time.
+     */
+    private static boolean anySet(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - (to & 63));
+
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0 || (bits[lastWord] & lastMask) != 0) {
+            return true;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (bits[word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotel.reservation.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the room catalog, raised after every committed change to a room.
+ * Room reads use it as their ETag, so a client holding the current tag can be
+ * answered with 304 Not Modified without touching the database.
+ */
+@Component
+public class RoomCatalogVersion {
+
+    // Distinguishes the tags of this process from those issued before a restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Get the current catalog version.
+     *
+     * @return the version number
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Raise the version once the current transaction commits.
+     * Raising it only after commit means a tag is never handed out for data that could still roll back.
+     */
+    public void changed() {
+        TransactionHooks.afterCommit(() -> {
+            version.incrementAndGet();
+            listeners.forEach(Runnable::run);
+        });
+    }
+
+    /**
+     * Register an action to run after every version change, such as clearing a cache.
+     * It runs after the version has been raised.
+     *
+     * @param listener the action
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Get the ETag of the current catalog version.
+     * The tag is weak because Tomcat only gzips responses without a strong ETag;
+     * every encoding of a version carries the same content, which is what a weak tag promises.
+     *
+     * @return the quoted entity tag
+     */
+    public String getETag() {
+        return "W/\"rooms-" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Get the ETag of one room at the current catalog version.
+     * The tag names the room, so a tag issued for one room never validates another,
+     * and a deleted room no longer matches once its deletion has raised the version.
+     *
+     * @param roomId the room ID
+     * @return the quoted entity tag
+     */
+    public String getETag(Long roomId) {
+        return "W/\"room-" + roomId + "-" + epoch + "-" + version.get() + "\"";
+    }
+}
@@ -0,0 +1,17 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.dto.RoomImageDTO;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for room gallery operations.
+ */
+public interface RoomImageService {
+    List<RoomImageDTO> getRoomImages(Long roomId);
+    Map<Long, List<RoomImageDTO>> getGalleries(Collection<Long> roomIds);
+    List<RoomImageDTO> addRoomImages(Long roomId, List<String> urls);
+    void removeRoomImages(Long roomId, Collection<Long> imageIds);
+    List<RoomImageDTO> reorderRoomImages(Long roomId, List<Long> imageIds);
+}
@@ -0,0 +1,222 @@
+package com.hotel.reservation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.dto.RoomImageDTO;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomImage;
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.repository.RoomImageRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for room gallery operations.
+ * Galleries live in room_images, one row per image, so they are read for many rooms in one
+ * query and changed without rewriting the room row. Gallery changes lock the room row only
+ * to serialize concurrent changes to the same gallery.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RoomImageServiceImpl implements RoomImageService {
+
+    private static final String UPLOADED_IMAGE_PREFIX = "/api/images/";
+
+    private final RoomImageRepository roomImageRepository;
+    private final RoomRepository roomRepository;
+    private final ImageVariantService imageVariantService;
+    private final RoomCatalogVersion catalogVersion;
+    private final RoomSearchCache searchCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RoomImageDTO> getRoomImages(Long roomId) {
+        if (!roomRepository.existsById(roomId)) {
+            throw new ResourceNotFoundException("Room", "id", roomId);
+        }
+        return roomImageRepository.findByRoomId(roomId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<RoomImageDTO>> getGalleries(Collection<Long> roomIds) {
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<RoomImageDTO>> galleries = new HashMap<>();
+        for (RoomImage image : roomImageRepository.findByRoomIds(roomIds)) {
+            galleries.computeIfAbsent(image.getRoom().getId(), roomId -> new ArrayList<>())
+                    .add(convertToDTO(image));
+        }
+        return galleries;
+    }
+
+    @Override
+    public List<RoomImageDTO> addRoomImages(Long roomId, List<String> urls) {
+        Room room = lockRoom(roomId);
+        int position = roomImageRepository.findNextPosition(roomId);
+        String variantWidths = imageVariantService.getWidths().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        List<RoomImage> images = new ArrayList<>(urls.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (String url : urls) {
+            String trimmed = url.trim();
+            // Only uploaded images are served with downscaled variants
+            String widths = trimmed.startsWith(UPLOADED_IMAGE_PREFIX) && !variantWidths.isEmpty()
+                    ? variantWidths
+                    : null;
+            images.add(new RoomImage(null, room, trimmed, position++, widths, now));
+        }
+        roomImageRepository.saveAll(images);
+        galleryChanged(room);
+        return getRoomImages(roomId);
+    }
+
+    @Override
+    public void removeRoomImages(Long roomId, Collection<Long> imageIds) {
+        Room room = lockRoom(roomId);
+        if (imageIds.isEmpty()) {
+            return;
+        }
+        if (roomImageRepository.deleteByRoomIdAndIdIn(roomId, imageIds) > 0) {
+            galleryChanged(room);
+        }
+    }
+
+    @Override
+    public List<RoomImageDTO> reorderRoomImages(Long roomId, List<Long> imageIds) {
+        Room room = lockRoom(roomId);
+        List<RoomImage> images = roomImageRepository.findByRoomId(roomId);
+        Map<Long, RoomImage> imagesById = images.stream()
+                .collect(Collectors.toMap(RoomImage::getId, image -> image));
+        if (imageIds.size() != images.size() || !imagesById.keySet().equals(new HashSet<>(imageIds))) {
+            throw new InvalidOperationException("Image order must list every image of the room's gallery exactly once");
+        }
+
+        // Only images whose position moved are written
+        for (int position = 0; position < imageIds.size(); position++) {
+            RoomImage image = imagesById.get(imageIds.get(position));
+            if (image.getPosition() != position) {
+                image.setPosition(position);
+            }
+        }
+        galleryChanged(room);
+        return imageIds.stream()
+                .map(imagesById::get)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Move galleries still stored as JSON arrays in the legacy rooms.image_urls column into
+     * room_images. Each room is moved in its own transaction and its legacy value cleared,
+     * so the migration resumes where it stopped and does nothing once every room is moved.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void migrateLegacyGalleries() {
+        List<Map<String, Object>> legacyGalleries;
+        try {
+            legacyGalleries = jdbcTemplate.queryForList(
+                    "SELECT id, image_urls FROM rooms WHERE image_urls IS NOT NULL");
+        } catch (BadSqlGrammarException e) {
+            // Databases created after the column was dropped from the mapping never had it
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+        for (Map<String, Object> row : legacyGalleries) {
+            Long roomId = ((Number) row.get("id")).longValue();
+            try {
+                List<String> urls = parseLegacyUrls((String) row.get("image_urls"));
+                transactionTemplate.executeWithoutResult(status -> migrateLegacyGallery(roomId, urls));
+                migrated++;
+            } catch (RuntimeException e) {
+                log.warn("Could not migrate the gallery of room {}: {}", roomId, e.getMessage());
+            }
+        }
+        if (migrated > 0) {
+            log.info("Migrated the galleries of {} rooms to room_images", migrated);
+        }
+    }
+
+    private void migrateLegacyGallery(Long roomId, List<String> urls) {
+        Room room = lockRoom(roomId);
+        // A gallery already edited through room_images wins over the legacy value
+        if (roomImageRepository.findNextPosition(roomId) == 0) {
+            List<String> valid = urls.stream()
+                    .filter(url -> url != null && !url.isBlank() && url.length() <= 500)
+                    .toList();
+            if (!valid.isEmpty()) {
+                addRoomImages(roomId, valid);
+            }
+        }
+        jdbcTemplate.update("UPDATE rooms SET image_urls = NULL WHERE id = ?", room.getId());
+    }
+
+    private List<String> parseLegacyUrls(String imageUrls) {
+        if (imageUrls.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(imageUrls, new TypeReference<List<String>>() {
+            });
+        } catch (JsonProcessingException e) {
+            // Values that are not JSON arrays are read as comma-separated lists
+            return Arrays.stream(imageUrls.split(","))
+                    .map(String::trim)
+                    .toList();
+        }
+    }
+
+    private Room lockRoom(Long roomId) {
+        return roomRepository.findByIdForUpdate(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", roomId));
+    }
+
+    private void galleryChanged(Room room) {
+        catalogVersion.changed();
+        searchCache.onRoomTypesChanged(room.getRoomType());
+    }
+
+    private RoomImageDTO convertToDTO(RoomImage image) {
+        List<Integer> variantWidths = image.getVariantWidths() == null || image.getVariantWidths().isEmpty()
+                ? List.of()
+                : Arrays.stream(image.getVariantWidths().split(","))
+                        .map(Integer::valueOf)
+                        .toList();
+        return new RoomImageDTO(image.getId(), image.getUrl(), image.getPosition(), variantWidths);
+    }
+}
@@ -0,0 +1,139 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.exception.RoomNotAvailableException;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Room-night inventory backed by the room_nights table.
+ * Every night of an active reservation owns one row, so availability is an indexed
+ * lookup and the unique (room_id, night) key makes double bookings impossible.
+ * Rows are written and removed in the same transaction as their reservation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomNightInventory {
+
+    private static final String INSERT_NIGHT_SQL =
+            "INSERT INTO room_nights (room_id, night, reservation_id) VALUES (?, ?, ?)";
+
+    /**
+     * The nights of one reservation: every night from check-in to the eve of check-out.
+     */
+    public record Stay(Long reservationId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+
+    private final RoomNightRepository roomNightRepository;
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Check whether none of the nights of a stay are booked.
+     * Back-to-back stays do not conflict: the check-out day is not a night of the stay.
+     *
+     * @param roomId the room ID
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     * @return true if every night from check-in to the eve of check-out is free
+     */
+    public boolean isFree(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        return roomNightRepository.countBookedNights(roomId, checkInDate, checkOutDate) == 0;
+    }
+
+    /**
+     * Insert the nights held by a saved reservation.
+     *
+     * @param reservation the reservation, which must already have an ID
+     * @throws RoomNotAvailableException if another reservation holds one of the nights
+     */
+    public void reserve(Reservation reservation) {
+        reserveAll(List.of(reservation));
+    }
+
+    /**
+     * Insert the nights held by several saved reservations in one JDBC batch.
+     *
+     * @param reservations the reservations, which must already have IDs
+     * @throws RoomNotAvailableException if another reservation holds one of the nights
+     */
+    public void reserveAll(Collection<Reservation> reservations) {
+        reserveStays(reservations.stream()
+                .map(reservation -> new Stay(reservation.getId(), reservation.getRoom().getId(),
+                        reservation.getCheckInDate(), reservation.getCheckOutDate()))
+                .toList());
+    }
+
+    /**
+     * Insert the nights of several stays in one JDBC batch, for callers that write
+     * reservations without loading entities.
+     *
+     * @param stays the stays, whose reservations must already exist
+     * @throws RoomNotAvailableException if another reservation holds one of the nights
+     */
+    public void reserveStays(Collection<Stay> stays) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Stay stay : stays) {
+            for (LocalDate night = stay.checkInDate(); night.isBefore(stay.checkOutDate()); night = night.plusDays(1)) {
+                rows.add(new Object[]{stay.roomId(), night, stay.reservationId()});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_NIGHT_SQL, rows);
+        } catch (DuplicateKeyException e) {
+            throw new RoomNotAvailableException("Room is no longer available for the selected dates");
+        }
+    }
+
+    /**
+     * Free the nights held by a reservation.
+     *
+     * @param reservationId the reservation ID
+     */
+    public void release(Long reservationId) {
+        roomNightRepository.deleteByReservationId(reservationId);
+    }
+
+    /**
+     * Create the missing nights of active reservations made before the inventory existed.
+     * Each reservation is backfilled in its own transaction so one conflict does not stop the rest.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Reservation> missing = reservationRepository.findWithoutRoomNights(
+                LocalDate.now(), ReservationStatus.ROOM_BLOCKING);
+
+        int backfilled = 0;
+        for (Reservation reservation : missing) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reserve(reservation));
+                backfilled++;
+            } catch (RoomNotAvailableException e) {
+                log.warn("Reservation {} overlaps another reservation of room {} and was not added to the inventory",
+                        reservation.getId(), reservation.getRoom().getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.info("Backfilled room nights for {} of {} reservations", backfilled, missing.size());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.cache.CacheMetrics;
+import com.hotel.reservation.cache.ExpiringLruCache;
+import com.hotel.reservation.dto.RoomDTO;
+import com.hotel.reservation.dto.RoomSearchCriteria;
+import com.hotel.reservation.entity.RoomType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of room search results, keyed by a normalized form of the search criteria.
+ * Price bounds are widened to bucket edges so nearby price filters share one entry,
+ * and the exact bounds are applied in memory on every read. Results are cached before
+ * booking holds are applied, since holds come and go within minutes.
+ * Entries are invalidated precisely: booking changes drop only the entries whose stay
+ * overlaps the affected nights, and room changes drop only the entries for that room type.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomSearchCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rooms.search-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${rooms.search-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${rooms.search-cache.price-bucket:50}")
+    private BigDecimal priceBucket;
+
+    // Cached lists are shared between callers and must not be modified
+    private ExpiringLruCache<SearchKey, List<RoomDTO>> results;
+
+    // Bumped by every invalidation so that searches started before it are not cached after it
+    private long generation;
+
+    private Counter nightInvalidations;
+    private Counter roomTypeInvalidations;
+
+    /**
+     * Normalized search criteria. Dates are kept only when both are given, because
+     * the search ignores a half-open range, and prices are widened to bucket edges.
+     */
+    private record SearchKey(RoomType roomType, BigDecimal minPrice, BigDecimal maxPrice, Integer minCapacity,
+                             Boolean isAvailable, LocalDate checkInDate, LocalDate checkOutDate) {
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return checkInDate != null && checkInDate.isBefore(to) && checkOutDate.isAfter(from);
+        }
+
+        RoomSearchCriteria toCriteria() {
+            return new RoomSearchCriteria(roomType, minPrice, maxPrice, minCapacity, isAvailable,
+                    checkInDate, checkOutDate);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        results = new ExpiringLruCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+        CacheMetrics.bind(meterRegistry, "roomSearch", results);
+        nightInvalidations = invalidationCounter("nights");
+        roomTypeInvalidations = invalidationCounter("roomType");
+    }
+
+    /**
+     * Search rooms through the cache.
+     * On a miss the loader runs with the normalized criteria and its result is cached.
+     *
+     * @param criteria the search criteria
+     * @param loader the uncached search, which must not apply booking holds
+     * @return the rooms matching the exact criteria
+     */
+    public List<RoomDTO> search(RoomSearchCriteria criteria, Function<RoomSearchCriteria, List<RoomDTO>> loader) {
+        SearchKey key = normalize(criteria);
+        List<RoomDTO> rooms = results.get(key);
+        if (rooms == null) {
+            long readGeneration = currentGeneration();
+            rooms = List.copyOf(loader.apply(key.toCriteria()));
+            synchronized (results) {
+                if (generation == readGeneration) {
+                    results.put(key, rooms);
+                }
+            }
+        }
+
+        BigDecimal minPrice = criteria.getMinPrice();
+        BigDecimal maxPrice = criteria.getMaxPrice();
+        if (minPrice == null && maxPrice == null) {
+            return rooms;
+        }
+        return rooms.stream()
+                .filter(room -> minPrice == null || room.getPrice().compareTo(minPrice) >= 0)
+                .filter(room -> maxPrice == null || room.getPrice().compareTo(maxPrice) <= 0)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drop the entries whose stay overlaps the given nights once the current transaction commits.
+     * Used after reservations are created, moved or cancelled.
+     *
+     * @param checkInDate the first affected night
+     * @param checkOutDate the day after the last affected night
+     */
+    public void onNightsChanged(LocalDate checkInDate, LocalDate checkOutDate) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (results) {
+                generation++;
+                nightInvalidations.increment(results.removeIf((key, rooms) -> key.overlaps(checkInDate, checkOutDate)));
+            }
+        });
+    }
+
+    /**
+     * Drop the entries that can contain rooms of the given types once the current transaction commits.
+     * Used after rooms are created, updated or deleted.
+     *
+     * @param roomTypes the room types whose rooms changed
+     */
+    public void onRoomTypesChanged(RoomType... roomTypes) {
+        onRoomTypesChanged(Arrays.asList(roomTypes));
+    }
+
+    /**
+     * Drop the entries that can contain rooms of the given types once the current transaction commits.
+     *
+     * @param roomTypes the room types whose rooms changed
+     */
+    public void onRoomTypesChanged(Collection<RoomType> roomTypes) {
+        Set<RoomType> changed = Set.copyOf(roomTypes);
+        TransactionHooks.afterCommit(() -> {
+            synchronized (results) {
+                generation++;
+                roomTypeInvalidations.increment(results.removeIf((key, rooms) ->
+                        key.roomType() == null || changed.contains(key.roomType())));
+            }
+        });
+    }
+
+    private long currentGeneration() {
+        synchronized (results) {
+            return generation;
+        }
+    }
+
+    private SearchKey normalize(RoomSearchCriteria criteria) {
+        boolean hasStay = criteria.getCheckInDate() != null && criteria.getCheckOutDate() != null;
+        return new SearchKey(
+                criteria.getRoomType(),
+                bucket(criteria.getMinPrice(), RoundingMode.FLOOR),
+                bucket(criteria.getMaxPrice(), RoundingMode.CEILING),
+                criteria.getMinCapacity(),
+                criteria.getIsAvailable(),
+                hasStay ? criteria.getCheckInDate() : null,
+                hasStay ? criteria.getCheckOutDate() : null);
+    }
+
+    private BigDecimal bucket(BigDecimal price, RoundingMode roundingMode) {
+        if (price == null) {
+            return null;
+        }
+        return price.divide(priceBucket, 0, roundingMode).multiply(priceBucket);
+    }
+
+    private Counter invalidationCounter(String reason) {
+        return Counter.builder("cache.invalidations")
+                .tags("cache", "roomSearch", "reason", reason)
+                .description("The number of entries dropped because the data behind them changed")
+                .register(meterRegistry);
+    }
+}
@@ -1,7 +1,13 @@
 package com.hotel.reservation.service;
 
+import com.hotel.reservation.dto.AvailabilityCalendarDTO;
+import com.hotel.reservation.dto.HoldRequest;
+import com.hotel.reservation.dto.HoldResponse;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
 import com.hotel.reservation.dto.RoomDTO;
 import com.hotel.reservation.dto.RoomSearchCriteria;
+import com.hotel.reservation.entity.RoomType;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -14,6 +20,10 @@ public interface RoomService {
     void deleteRoom(Long id);
     RoomDTO getRoomById(Long id);
     List<RoomDTO> getAllRooms();
+    KeysetPage<RoomDTO> getRoomsPage(KeysetPageRequest request);
     List<RoomDTO> searchRooms(RoomSearchCriteria criteria);
     boolean checkAvailability(Long roomId, LocalDate checkInDate, LocalDate checkOutDate);
+    AvailabilityCalendarDTO getAvailabilityCalendar(LocalDate from, LocalDate to, RoomType roomType);
+    HoldResponse createHold(Long roomId, HoldRequest request);
+    void releaseHold(Long roomId, String token);
 }
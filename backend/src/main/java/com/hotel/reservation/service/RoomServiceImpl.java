@@ -1,20 +1,43 @@
 package com.hotel.reservation.service;
 
+import com.hotel.reservation.cache.CacheMetrics;
+import com.hotel.reservation.cache.ExpiringLruCache;
+import com.hotel.reservation.dto.AvailabilityCalendarDTO;
+import com.hotel.reservation.dto.HoldRequest;
+import com.hotel.reservation.dto.HoldResponse;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
+import com.hotel.reservation.dto.RoomCalendarDTO;
 import com.hotel.reservation.dto.RoomDTO;
+import com.hotel.reservation.dto.RoomImageDTO;
 import com.hotel.reservation.dto.RoomSearchCriteria;
-import com.hotel.reservation.entity.Reservation;
 import com.hotel.reservation.entity.ReservationStatus;
 import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.exception.InvalidOperationException;
 import com.hotel.reservation.exception.ResourceAlreadyExistsException;
 import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.exception.RoomNotAvailableException;
+import com.hotel.reservation.repository.KeysetPaginator;
 import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.ReservationSpan;
 import com.hotel.reservation.repository.RoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,8 +48,51 @@ import java.util.stream.Collectors;
 @Transactional
 public class RoomServiceImpl implements RoomService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("roomNumber", "price", "capacity");
+
+    private static final int MAX_CALENDAR_NIGHTS = 366;
+
+    private static final String ALL_ROOMS_KEY = "all";
+
     private final RoomRepository roomRepository;
     private final ReservationRepository reservationRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomNightInventory roomNightInventory;
+    private final BookingHoldRegistry holdRegistry;
+    private final KeysetPaginator keysetPaginator;
+    private final RoomCatalogVersion catalogVersion;
+    private final RoomSearchCache searchCache;
+    private final RoomImageService roomImageService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rooms.cache.max-entries:10000}")
+    private int maxCachedRooms;
+
+    // Cached DTOs are shared between callers and must not be modified
+    private ExpiringLruCache<Long, RoomDTO> roomCache;
+    private ExpiringLruCache<String, List<RoomDTO>> catalogCache;
+
+    @Value("${booking.holds.default-minutes:10}")
+    private int defaultHoldMinutes;
+
+    @Value("${booking.holds.max-minutes:30}")
+    private int maxHoldMinutes;
+
+    @Value("${booking.holds.max-nights:30}")
+    private int maxHeldNights;
+
+    @PostConstruct
+    public void initCaches() {
+        roomCache = new ExpiringLruCache<>(maxCachedRooms);
+        catalogCache = new ExpiringLruCache<>(1);
+        catalogVersion.addListener(() -> {
+            roomCache.clear();
+            catalogCache.clear();
+        });
+        CacheMetrics.bind(meterRegistry, "rooms", roomCache);
+        CacheMetrics.bind(meterRegistry, "roomCatalog", catalogCache);
+    }
 
     @Override
     public RoomDTO createRoom(RoomDTO roomDTO) {
@@ -44,6 +110,8 @@ public class RoomServiceImpl implements RoomService {
         room.setCapacity(roomDTO.getCapacity());
 
         Room savedRoom = roomRepository.save(room);
+        catalogVersion.changed();
+        searchCache.onRoomTypesChanged(savedRoom.getRoomType());
         return convertToDTO(savedRoom);
     }
 
@@ -59,6 +127,7 @@ public class RoomServiceImpl implements RoomService {
             });
         }
 
+        RoomType previousRoomType = room.getRoomType();
         room.setRoomNumber(roomDTO.getRoomNumber());
         room.setRoomType(roomDTO.getRoomType());
         room.setPrice(roomDTO.getPrice());
@@ -68,7 +137,9 @@ public class RoomServiceImpl implements RoomService {
         room.setCapacity(roomDTO.getCapacity());
 
         Room updatedRoom = roomRepository.save(room);
-        return convertToDTO(updatedRoom);
+        catalogVersion.changed();
+        searchCache.onRoomTypesChanged(previousRoomType, updatedRoom.getRoomType());
+        return withGallery(convertToDTO(updatedRoom));
     }
 
     @Override
@@ -76,55 +147,214 @@ public class RoomServiceImpl implements RoomService {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room", "id", id));
         roomRepository.delete(room);
+        availabilityIndex.onRoomDeleted(id);
+        catalogVersion.changed();
+        searchCache.onRoomTypesChanged(room.getRoomType());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public RoomDTO getRoomById(Long id) {
+        RoomDTO cached = roomCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long version = catalogVersion.current();
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room", "id", id));
-        return convertToDTO(room);
+        RoomDTO dto = withGallery(convertToDTO(room));
+        putIfCurrent(roomCache, id, dto, version);
+        return dto;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RoomDTO> getAllRooms() {
-        return roomRepository.findAll().stream()
+        List<RoomDTO> cached = catalogCache.get(ALL_ROOMS_KEY);
+        if (cached != null) {
+            return cached;
+        }
+        long version = catalogVersion.current();
+        List<RoomDTO> rooms = withGalleries(roomRepository.findAll().stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .toList());
+        putIfCurrent(catalogCache, ALL_ROOMS_KEY, rooms, version);
+        return rooms;
     }
 
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<RoomDTO> getRoomsPage(KeysetPageRequest request) {
+        KeysetPage<RoomDTO> page = keysetPaginator.findPage(Room.class, request, SORTABLE_FIELDS, this::convertToDTO);
+        withGalleries(page.getItems());
+        return page;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RoomDTO> searchRooms(RoomSearchCriteria criteria) {
-        List<Room> rooms = roomRepository.findAll();
+        List<RoomDTO> rooms = searchCache.search(criteria, this::findUnbookedRooms);
+        LocalDate checkInDate = criteria.getCheckInDate();
+        LocalDate checkOutDate = criteria.getCheckOutDate();
+        if (checkInDate == null || checkOutDate == null) {
+            return rooms;
+        }
 
+        // Holds are short-lived, so they are applied to every result rather than cached
         return rooms.stream()
-                .filter(room -> criteria.getRoomType() == null || room.getRoomType().equals(criteria.getRoomType()))
-                .filter(room -> criteria.getMinPrice() == null || room.getPrice().compareTo(criteria.getMinPrice()) >= 0)
-                .filter(room -> criteria.getMaxPrice() == null || room.getPrice().compareTo(criteria.getMaxPrice()) <= 0)
-                .filter(room -> criteria.getMinCapacity() == null || room.getCapacity() >= criteria.getMinCapacity())
-                .filter(room -> criteria.getIsAvailable() == null || room.getIsAvailable().equals(criteria.getIsAvailable()))
-                .filter(room -> {
-                    if (criteria.getCheckInDate() != null && criteria.getCheckOutDate() != null) {
-                        return checkAvailability(room.getId(), criteria.getCheckInDate(), criteria.getCheckOutDate());
-                    }
-                    return true;
-                })
-                .map(this::convertToDTO)
+                .filter(room -> !holdRegistry.isHeld(room.getId(), checkInDate, checkOutDate, null))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean checkAvailability(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
-        List<Reservation> overlappingReservations = reservationRepository.findByRoomIdAndDateRange(
-                roomId, checkInDate, checkOutDate);
+        return !holdRegistry.isHeld(roomId, checkInDate, checkOutDate, null)
+                && roomNightInventory.isFree(roomId, checkInDate, checkOutDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AvailabilityCalendarDTO getAvailabilityCalendar(LocalDate from, LocalDate to, RoomType roomType) {
+        if (!to.isAfter(from)) {
+            throw new InvalidOperationException("Calendar end date must be after its start date");
+        }
+        int nights = (int) ChronoUnit.DAYS.between(from, to);
+        if (nights > MAX_CALENDAR_NIGHTS) {
+            throw new InvalidOperationException("Calendar range must not exceed " + MAX_CALENDAR_NIGHTS + " nights");
+        }
+
+        RoomSearchCriteria criteria = new RoomSearchCriteria();
+        criteria.setRoomType(roomType);
+        Map<Long, BitSet> occupancy = new LinkedHashMap<>();
+        List<RoomDTO> rooms = roomRepository.searchRooms(criteria, false);
+        rooms.forEach(room -> occupancy.put(room.getId(), new BitSet(nights)));
+
+        // Single pass over every reservation that occupies a night of the calendar
+        List<ReservationSpan> spans = roomType != null
+                ? reservationRepository.findSpansByRoomTypeInRange(roomType, from, to, ReservationStatus.ROOM_BLOCKING)
+                : reservationRepository.findSpansInRange(from, to, ReservationStatus.ROOM_BLOCKING);
+        for (ReservationSpan span : spans) {
+            BitSet booked = occupancy.get(span.getRoomId());
+            if (booked != null) {
+                int firstNight = (int) Math.max(ChronoUnit.DAYS.between(from, span.getCheckInDate()), 0);
+                int endNight = (int) Math.min(ChronoUnit.DAYS.between(from, span.getCheckOutDate()), nights);
+                booked.set(firstNight, endNight);
+            }
+        }
 
-        // Check if there are any confirmed or pending reservations
-        return overlappingReservations.stream()
-                .noneMatch(r -> r.getStatus() == ReservationStatus.CONFIRMED || 
-                               r.getStatus() == ReservationStatus.PENDING);
+        List<RoomCalendarDTO> calendar = rooms.stream()
+                .map(room -> new RoomCalendarDTO(room.getId(), room.getRoomNumber(), room.getRoomType(),
+                        encodeOccupancy(occupancy.get(room.getId()), nights)))
+                .collect(Collectors.toList());
+        return new AvailabilityCalendarDTO(from, to, nights, calendar);
+    }
+
+    @Override
+    public HoldResponse createHold(Long roomId, HoldRequest request) {
+        if (request.getCheckInDate().isBefore(LocalDate.now())) {
+            throw new InvalidOperationException("Check-in date cannot be in the past");
+        }
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new InvalidOperationException("Check-out date must be after check-in date");
+        }
+        // Bounds the nights a single hold can block
+        if (ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate()) > maxHeldNights) {
+            throw new InvalidOperationException("Hold must not exceed " + maxHeldNights + " nights");
+        }
+        int minutes = request.getMinutes() != null ? request.getMinutes() : defaultHoldMinutes;
+        if (minutes > maxHoldMinutes) {
+            throw new InvalidOperationException("Hold must not exceed " + maxHoldMinutes + " minutes");
+        }
+
+        // Take the same room lock as bookings so a hold and a booking cannot both claim the nights
+        Room room = roomRepository.findByIdForUpdate(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", roomId));
+        if (!roomNightInventory.isFree(roomId, request.getCheckInDate(), request.getCheckOutDate())) {
+            throw new RoomNotAvailableException(
+                    "Room " + room.getRoomNumber() + " is not available for the selected dates");
+        }
+
+        BookingHoldRegistry.Hold hold = holdRegistry.place(
+                roomId, request.getCheckInDate(), request.getCheckOutDate(), Duration.ofMinutes(minutes));
+        return new HoldResponse(hold.getToken(), hold.getRoomId(), hold.getCheckInDate(),
+                hold.getCheckOutDate(), hold.getExpiresAt());
+    }
+
+    @Override
+    public void releaseHold(Long roomId, String token) {
+        BookingHoldRegistry.Hold hold = holdRegistry.find(token)
+                .filter(existing -> existing.getRoomId().equals(roomId))
+                .orElseThrow(() -> new ResourceNotFoundException("Hold", "token", token));
+        holdRegistry.release(hold.getToken());
+    }
+
+    /**
+     * Search rooms matching the criteria that have no booked night in the stay, ignoring holds,
+     * with their galleries.
+     */
+    private List<RoomDTO> findUnbookedRooms(RoomSearchCriteria criteria) {
+        LocalDate checkInDate = criteria.getCheckInDate();
+        LocalDate checkOutDate = criteria.getCheckOutDate();
+        if (checkInDate == null || checkOutDate == null) {
+            return withGalleries(roomRepository.searchRooms(criteria, false));
+        }
+
+        // Outside the indexed window, let the database exclude booked rooms with an anti-join
+        if (!availabilityIndex.covers(checkInDate, checkOutDate)) {
+            return withGalleries(roomRepository.searchRooms(criteria, true));
+        }
+
+        return withGalleries(roomRepository.searchRooms(criteria, false).stream()
+                .filter(room -> availabilityIndex.isAvailable(room.getId(), checkInDate, checkOutDate)
+                        .orElseGet(() -> roomNightInventory.isFree(room.getId(), checkInDate, checkOutDate)))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Attach their galleries to rooms, reading every gallery in one query.
+     */
+    private List<RoomDTO> withGalleries(List<RoomDTO> rooms) {
+        Map<Long, List<RoomImageDTO>> galleries = roomImageService.getGalleries(
+                rooms.stream().map(RoomDTO::getId).toList());
+        rooms.forEach(room -> room.setImages(galleries.getOrDefault(room.getId(), List.of())));
+        return rooms;
+    }
+
+    private RoomDTO withGallery(RoomDTO room) {
+        withGalleries(List.of(room));
+        return room;
+    }
+
+    /**
+     * Run-length encode booked nights as alternating runs of free (F) and booked (B) nights.
+     */
+    private String encodeOccupancy(BitSet booked, int nights) {
+        StringBuilder encoded = new StringBuilder();
+        int night = 0;
+        while (night < nights) {
+            boolean isBooked = booked.get(night);
+            int runEnd = isBooked ? booked.nextClearBit(night) : booked.nextSetBit(night);
+            if (runEnd < 0 || runEnd > nights) {
+                runEnd = nights;
+            }
+            encoded.append(runEnd - night).append(isBooked ? 'B' : 'F');
+            night = runEnd;
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Cache a value read at a given catalog version, unless the catalog has changed since.
+     * Checking under the cache's lock orders the check against the clear that follows each
+     * change, so a value read before a committed change is never cached after it.
+     */
+    private <K, V> void putIfCurrent(ExpiringLruCache<K, V> cache, K key, V value, long readVersion) {
+        synchronized (cache) {
+            if (catalogVersion.current() == readVersion) {
+                cache.put(key, value);
+            }
+        }
     }
 
     private RoomDTO convertToDTO(Room room) {
@@ -11,6 +11,7 @@ public interface UserService {
     LoginResponse login(LoginRequest request);
     UserDTO getUserById(Long id);
     List<UserDTO> getAllUsers();
+    KeysetPage<UserDTO> getUsersPage(KeysetPageRequest request);
     UserDTO updateUser(Long id, RegisterRequest request);
     void deleteUser(Long id);
 }
@@ -5,14 +5,17 @@ import com.hotel.reservation.entity.User;
 import com.hotel.reservation.exception.InvalidOperationException;
 import com.hotel.reservation.exception.ResourceAlreadyExistsException;
 import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.repository.KeysetPaginator;
 import com.hotel.reservation.repository.UserRepository;
 import com.hotel.reservation.security.JwtTokenProvider;
+import com.hotel.reservation.security.UserAccountCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -23,9 +26,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("username", "email", "createdAt");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final KeysetPaginator keysetPaginator;
+    private final UserAccountCache userAccountCache;
 
     @Override
     public UserDTO register(RegisterRequest request) {
@@ -48,6 +55,8 @@ public class UserServiceImpl implements UserService {
         user.setRole(request.getRole());
 
         User savedUser = userRepository.save(user);
+        // The username may be cached as unknown from an earlier request
+        userAccountCache.evict(savedUser.getUsername());
         return convertToDTO(savedUser);
     }
 
@@ -62,7 +71,7 @@ public class UserServiceImpl implements UserService {
 
         UserDTO userDTO = convertToDTO(user);
         // Generate JWT token using JwtTokenProvider
-        String token = jwtTokenProvider.generateTokenFromUsername(user.getUsername());
+        String token = jwtTokenProvider.generateTokenFromUsername(user.getUsername(), user.getRole());
 
         return new LoginResponse(token, userDTO);
     }
@@ -83,6 +92,12 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDTO> getUsersPage(KeysetPageRequest request) {
+        return keysetPaginator.findPage(User.class, request, SORTABLE_FIELDS, this::convertToDTO);
+    }
+
     @Override
     public UserDTO updateUser(Long id, RegisterRequest request) {
         User user = userRepository.findById(id)
@@ -102,6 +117,8 @@ public class UserServiceImpl implements UserService {
             });
         }
 
+        userAccountCache.evict(user.getUsername());
+        userAccountCache.evict(request.getUsername());
         user.setUsername(request.getUsername());
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
@@ -120,6 +137,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         userRepository.delete(user);
+        userAccountCache.evict(user.getUsername());
     }
 
     private UserDTO convertToDTO(User user) {
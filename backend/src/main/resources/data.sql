@@ -18,31 +18,80 @@ INSERT INTO users (id, username, email, password, first_name, last_name, role, c
 (12, 'cheikh.mbaye', 'cheikh.mbaye@hotel.sn', '$2a$10$FXkmh136jOcashuTMahHSemYnYh7oAsjDZwZGqYeVCHbnRZVyrTaG', 'Cheikh', 'Mbaye', 'ADMIN', NOW());
 
 -- Insert Rooms
-INSERT INTO rooms (id, room_number, room_type, price, is_available, description, image_url, image_urls, capacity) VALUES
+INSERT INTO rooms (id, room_number, room_type, price, is_available, description, image_url, capacity) VALUES
 -- Single Rooms
-(1, '101', 'SINGLE', 15000.00, true, 'Cozy single room with a comfortable bed, desk, and en-suite bathroom. Perfect for solo travelers.', 'https://images.unsplash.com/photo-1631049307264-da0ec9d70304?w=800', '["https://images.unsplash.com/photo-1631049307264-da0ec9d70304?w=800","https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800","https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800"]', 1),
-(2, '102', 'SINGLE', 18000.00, true, 'Single room with city view, work desk, and free Wi-Fi. Includes complimentary breakfast.', 'https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800', '["https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800","https://images.unsplash.com/photo-1631049307264-da0ec9d70304?w=800","https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800"]', 1),
-(3, '103', 'SINGLE', 15000.00, true, 'Compact single room with modern amenities and air conditioning.', 'https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800', '["https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800","https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800","https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800"]', 1),
+(1, '101', 'SINGLE', 15000.00, true, 'Cozy single room with a comfortable bed, desk, and en-suite bathroom. Perfect for solo travelers.', 'https://images.unsplash.com/photo-1631049307264-da0ec9d70304?w=800', 1),
+(2, '102', 'SINGLE', 18000.00, true, 'Single room with city view, work desk, and free Wi-Fi. Includes complimentary breakfast.', 'https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800', 1),
+(3, '103', 'SINGLE', 15000.00, true, 'Compact single room with modern amenities and air conditioning.', 'https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800', 1),
 
 -- Double Rooms
-(4, '201', 'DOUBLE', 30000.00, true, 'Spacious double room with queen-size bed, seating area, and mini-bar.', 'https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800', '["https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800","https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800","https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800","https://images.unsplash.com/photo-1596394516093-501ba68a0ba6?w=800"]', 2),
-(5, '202', 'DOUBLE', 35000.00, true, 'Double room with balcony and garden view. Includes satellite TV and safe.', 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', '["https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800","https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800","https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800"]', 2),
-(6, '203', 'DOUBLE', 30000.00, true, 'Elegant double room with modern décor and premium bedding.', 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', '["https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800","https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800","https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800"]', 2),
-(7, '204', 'DOUBLE', 40000.00, true, 'Double room with ocean view and private balcony. Perfect for couples.', 'https://images.unsplash.com/photo-1596394516093-501ba68a0ba6?w=800', '["https://images.unsplash.com/photo-1596394516093-501ba68a0ba6?w=800","https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800","https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800"]', 2),
+(4, '201', 'DOUBLE', 30000.00, true, 'Spacious double room with queen-size bed, seating area, and mini-bar.', 'https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800', 2),
+(5, '202', 'DOUBLE', 35000.00, true, 'Double room with balcony and garden view. Includes satellite TV and safe.', 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', 2),
+(6, '203', 'DOUBLE', 30000.00, true, 'Elegant double room with modern décor and premium bedding.', 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', 2),
+(7, '204', 'DOUBLE', 40000.00, true, 'Double room with ocean view and private balcony. Perfect for couples.', 'https://images.unsplash.com/photo-1596394516093-501ba68a0ba6?w=800', 2),
 
 -- Suite Rooms
-(8, '301', 'SUITE', 65000.00, true, 'Luxury suite with separate living room, king-size bed, and marble bathroom with jacuzzi.', 'https://images.unsplash.com/photo-1591088398332-8a7791972843?w=800', '["https://images.unsplash.com/photo-1591088398332-8a7791972843?w=800","https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800","https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800","https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800"]', 3),
-(9, '302', 'SUITE', 75000.00, true, 'Executive suite with panoramic city views, work area, and complimentary room service.', 'https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800', '["https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800","https://images.unsplash.com/photo-1591088398332-8a7791972843?w=800","https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800"]', 3),
-(10, '303', 'SUITE', 70000.00, true, 'Family suite with two bedrooms, kitchenette, and dining area.', 'https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800', '["https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800","https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800","https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800"]', 4),
+(8, '301', 'SUITE', 65000.00, true, 'Luxury suite with separate living room, king-size bed, and marble bathroom with jacuzzi.', 'https://images.unsplash.com/photo-1591088398332-8a7791972843?w=800', 3),
+(9, '302', 'SUITE', 75000.00, true, 'Executive suite with panoramic city views, work area, and complimentary room service.', 'https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800', 3),
+(10, '303', 'SUITE', 70000.00, true, 'Family suite with two bedrooms, kitchenette, and dining area.', 'https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800', 4),
 
 -- Deluxe Rooms
-(11, '401', 'DELUXE', 50000.00, true, 'Deluxe room with premium amenities, king-size bed, and spa bathroom.', 'https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800', '["https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800","https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800","https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800"]', 2),
-(12, '402', 'DELUXE', 55000.00, true, 'Deluxe room with terrace, outdoor seating, and mountain views.', 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', '["https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800","https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800","https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800"]', 2),
-(13, '403', 'DELUXE', 60000.00, true, 'Deluxe corner room with extra space, walk-in closet, and luxury linens.', 'https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800', '["https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800","https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800","https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800"]', 2),
+(11, '401', 'DELUXE', 50000.00, true, 'Deluxe room with premium amenities, king-size bed, and spa bathroom.', 'https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800', 2),
+(12, '402', 'DELUXE', 55000.00, true, 'Deluxe room with terrace, outdoor seating, and mountain views.', 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', 2),
+(13, '403', 'DELUXE', 60000.00, true, 'Deluxe corner room with extra space, walk-in closet, and luxury linens.', 'https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800', 2),
 
 -- Additional rooms
-(14, '104', 'SINGLE', 15000.00, false, 'Single room currently under maintenance.', 'https://images.unsplash.com/photo-1631049035182-249067d7618e?w=800', '["https://images.unsplash.com/photo-1631049035182-249067d7618e?w=800","https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800"]', 1),
-(15, '205', 'DOUBLE', 35000.00, true, 'Double room with artistic décor and complimentary wine.', 'https://images.unsplash.com/photo-1616486338812-3dadae4b4ace?w=800', '["https://images.unsplash.com/photo-1616486338812-3dadae4b4ace?w=800","https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800","https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800"]', 2);
+(14, '104', 'SINGLE', 15000.00, false, 'Single room currently under maintenance.', 'https://images.unsplash.com/photo-1631049035182-249067d7618e?w=800', 1),
+(15, '205', 'DOUBLE', 35000.00, true, 'Double room with artistic décor and complimentary wine.', 'https://images.unsplash.com/photo-1616486338812-3dadae4b4ace?w=800', 2);
+
+-- Insert Room Galleries
+INSERT INTO room_images (room_id, url, sort_order, variant_widths, created_at) VALUES
+(1, 'https://images.unsplash.com/photo-1631049307264-da0ec9d70304?w=800', 0, NULL, NOW()),
+(1, 'https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800', 1, NULL, NOW()),
+(1, 'https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800', 2, NULL, NOW()),
+(2, 'https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800', 0, NULL, NOW()),
+(2, 'https://images.unsplash.com/photo-1631049307264-da0ec9d70304?w=800', 1, NULL, NOW()),
+(2, 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', 2, NULL, NOW()),
+(3, 'https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800', 0, NULL, NOW()),
+(3, 'https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800', 1, NULL, NOW()),
+(3, 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', 2, NULL, NOW()),
+(4, 'https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800', 0, NULL, NOW()),
+(4, 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', 1, NULL, NOW()),
+(4, 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', 2, NULL, NOW()),
+(4, 'https://images.unsplash.com/photo-1596394516093-501ba68a0ba6?w=800', 3, NULL, NOW()),
+(5, 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', 0, NULL, NOW()),
+(5, 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', 1, NULL, NOW()),
+(5, 'https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800', 2, NULL, NOW()),
+(6, 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', 0, NULL, NOW()),
+(6, 'https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800', 1, NULL, NOW()),
+(6, 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', 2, NULL, NOW()),
+(7, 'https://images.unsplash.com/photo-1596394516093-501ba68a0ba6?w=800', 0, NULL, NOW()),
+(7, 'https://images.unsplash.com/photo-1618773928121-c32242e63f39?w=800', 1, NULL, NOW()),
+(7, 'https://images.unsplash.com/photo-1590490360182-c33d57733427?w=800', 2, NULL, NOW()),
+(8, 'https://images.unsplash.com/photo-1591088398332-8a7791972843?w=800', 0, NULL, NOW()),
+(8, 'https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800', 1, NULL, NOW()),
+(8, 'https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800', 2, NULL, NOW()),
+(8, 'https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800', 3, NULL, NOW()),
+(9, 'https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800', 0, NULL, NOW()),
+(9, 'https://images.unsplash.com/photo-1591088398332-8a7791972843?w=800', 1, NULL, NOW()),
+(9, 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', 2, NULL, NOW()),
+(10, 'https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800', 0, NULL, NOW()),
+(10, 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', 1, NULL, NOW()),
+(10, 'https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800', 2, NULL, NOW()),
+(11, 'https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800', 0, NULL, NOW()),
+(11, 'https://images.unsplash.com/photo-1582719508461-905c673771fd?w=800', 1, NULL, NOW()),
+(11, 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', 2, NULL, NOW()),
+(12, 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', 0, NULL, NOW()),
+(12, 'https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800', 1, NULL, NOW()),
+(12, 'https://images.unsplash.com/photo-1595526114035-0d45ed16cfbf?w=800', 2, NULL, NOW()),
+(13, 'https://images.unsplash.com/photo-1578683010236-d716f9a3f461?w=800', 0, NULL, NOW()),
+(13, 'https://images.unsplash.com/photo-1598928506311-c55ded91a20c?w=800', 1, NULL, NOW()),
+(13, 'https://images.unsplash.com/photo-1584132967334-10e028bd69f7?w=800', 2, NULL, NOW()),
+(14, 'https://images.unsplash.com/photo-1631049035182-249067d7618e?w=800', 0, NULL, NOW()),
+(14, 'https://images.unsplash.com/photo-1611892440504-42a792e24d32?w=800', 1, NULL, NOW()),
+(15, 'https://images.unsplash.com/photo-1616486338812-3dadae4b4ace?w=800', 0, NULL, NOW()),
+(15, 'https://images.unsplash.com/photo-1566665797739-1674de7a421a?w=800', 1, NULL, NOW()),
+(15, 'https://images.unsplash.com/photo-1582719478250-c89cae4dc85b?w=800', 2, NULL, NOW());
 
 -- Insert Guests
 INSERT INTO guests (id, first_name, last_name, email, phone_number, address, user_id) VALUES
@@ -0,0 +1,49 @@
+package com.hotel.reservation;
+
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.repository.GuestRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates rooms and guests for integration tests.
+ * Test contexts share one database, so every room number and email is unique.
+ */
+@Component
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final RoomRepository roomRepository;
+    private final GuestRepository guestRepository;
+
+    public TestData(RoomRepository roomRepository, GuestRepository guestRepository) {
+        this.roomRepository = roomRepository;
+        this.guestRepository = guestRepository;
+    }
+
+    public Room room(RoomType roomType, String price) {
+        Room room = new Room();
+        room.setRoomNumber("T" + SEQUENCE.incrementAndGet());
+        room.setRoomType(roomType);
+        room.setPrice(new BigDecimal(price));
+        room.setIsAvailable(true);
+        room.setCapacity(2);
+        return roomRepository.save(room);
+    }
+
+    public Guest guest() {
+        int id = SEQUENCE.incrementAndGet();
+        Guest guest = new Guest();
+        guest.setFirstName("Test");
+        guest.setLastName("Guest" + id);
+        guest.setEmail("guest" + id + "@example.com");
+        guest.setPhoneNumber("770000" + id);
+        return guestRepository.save(guest);
+    }
+}
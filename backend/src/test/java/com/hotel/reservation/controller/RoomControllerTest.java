@@ -0,0 +1,97 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.TestData;
+import com.hotel.reservation.dto.HoldRequest;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class RoomControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void unchangedRoomIsNotModified() throws Exception {
+        Room room = testData.room(RoomType.SINGLE, "60.00");
+        String etag = fetchETag(room.getId());
+
+        mockMvc.perform(get("/api/rooms/{id}", room.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void tagOfOneRoomDoesNotValidateAnother() throws Exception {
+        Room room = testData.room(RoomType.SINGLE, "60.00");
+        Room other = testData.room(RoomType.SINGLE, "65.00");
+        String etag = fetchETag(room.getId());
+
+        mockMvc.perform(get("/api/rooms/{id}", other.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/rooms/{id}", Long.MAX_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void deletedRoomIsNotFoundRatherThanNotModified() throws Exception {
+        Room room = testData.room(RoomType.SINGLE, "60.00");
+        String etag = fetchETag(room.getId());
+
+        roomService.deleteRoom(room.getId());
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/rooms/{id}", room.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void holdsArePlacedOnlyForUpcomingStaysOfBoundedLength() {
+        Room room = testData.room(RoomType.SINGLE, "60.00");
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> roomService.createHold(room.getId(), new HoldRequest(today.minusDays(1), today, null)))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Check-in date cannot be in the past");
+        assertThatThrownBy(() -> roomService.createHold(room.getId(), new HoldRequest(today, today.plusDays(31), null)))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Hold must not exceed 30 nights");
+        assertThat(roomService.createHold(room.getId(), new HoldRequest(today, today.plusDays(30), null)).getToken())
+                .isNotNull();
+    }
+
+    private String fetchETag(Long roomId) throws Exception {
+        String etag = mockMvc.perform(get("/api/rooms/{id}", roomId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.TestData;
+import com.hotel.reservation.entity.ImageBlob;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class ImageBlobRepositoryTest {
+
+    private static final String SHA256 = "ab".repeat(32);
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void addReferenceCountsUploadsAndKeepsOtherCachedEntities() {
+        Room room = testData.room(RoomType.SINGLE, "70.00");
+        roomRepository.findById(room.getId()).orElseThrow();
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isTrue();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDateTime uploaded = LocalDateTime.of(2030, 1, 1, 12, 0);
+        transaction.executeWithoutResult(status -> imageBlobRepository.addReference(SHA256, "jpg", 1024, uploaded));
+        transaction.executeWithoutResult(status ->
+                imageBlobRepository.addReference(SHA256, "jpg", 1024, uploaded.plusHours(1)));
+
+        ImageBlob blob = transaction.execute(status -> imageBlobRepository.findBySha256ForUpdate(SHA256).orElseThrow());
+        assertThat(blob.getRefCount()).isEqualTo(2);
+        assertThat(blob.getLastReferencedAt()).isEqualTo(uploaded.plusHours(1));
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.TestData;
+import com.hotel.reservation.dto.KeysetPage;
+import com.hotel.reservation.dto.KeysetPageRequest;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.entity.Role;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.entity.User;
+import com.hotel.reservation.service.ReservationService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks two pages for every sortable field, so that each field's cursor value is parsed back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class KeysetPaginatorTest {
+
+    private static final Map<String, Class<?>> ENTITIES = Map.of(
+            "Reservation", Reservation.class, "User", User.class, "Room", Room.class);
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeAll
+    void createRows() {
+        Guest guest = testData.guest();
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 4; i++) {
+            Room room = testData.room(RoomType.DOUBLE, (100 + i) + ".50");
+            reservationService.createReservation(new ReservationRequest(guest.getId(), room.getId(),
+                    checkIn.plusDays(i % 2), checkIn.plusDays(2 + i), 1, 1, null, null, null, null));
+
+            User user = new User();
+            user.setUsername("pager" + i);
+            user.setPassword("secret");
+            user.setEmail("pager" + i + "@example.com");
+            user.setRole(Role.USER);
+            userRepository.save(user);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "Reservation, checkInDate", "Reservation, checkOutDate", "Reservation, createdAt", "Reservation, totalPrice",
+            "User, createdAt",
+            "Room, roomNumber", "Room, price", "Room, capacity"
+    })
+    void secondPageContinuesTheFirst(String entity, String field) {
+        for (String sort : List.of(field, "-" + field)) {
+            List<Long> firstFour = page(entity, field, sort, 4, null).getItems();
+            KeysetPage<Long> first = page(entity, field, sort, 2, null);
+            KeysetPage<Long> second = page(entity, field, sort, 2, first.getNextCursor());
+
+            List<Long> walked = new ArrayList<>(first.getItems());
+            walked.addAll(second.getItems());
+            assertThat(first.getHasMore()).isTrue();
+            assertThat(walked).as("two pages sorted by %s", sort).isEqualTo(firstFour);
+        }
+    }
+
+    private KeysetPage<Long> page(String entity, String field, String sort, int limit, String after) {
+        return keysetPaginator.findPage(ENTITIES.get(entity), new KeysetPageRequest(limit, after, sort),
+                Set.of(field), KeysetPaginatorTest::idOf);
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof Reservation reservation) {
+            return reservation.getId();
+        }
+        return entity instanceof User user ? user.getId() : ((Room) entity).getId();
+    }
+}
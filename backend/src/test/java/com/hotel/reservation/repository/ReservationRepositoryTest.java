@@ -0,0 +1,147 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.dto.ReservationDTO;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every reservation read path costs the same number of statements for N and 10×N rows,
+ * so that no path lazy-loads the guest or room of each reservation.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ReservationRepositoryTest {
+
+    private static final int N = 5;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Guest guest;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        guest = new Guest();
+        guest.setFirstName("Statement");
+        guest.setLastName("Counter");
+        guest.setEmail("statement.counter@example.com");
+        guest.setPhoneNumber("7700900000");
+        entityManager.persist(guest);
+    }
+
+    @Test
+    void findAllDTOsDoesNotDependOnRowCount() {
+        assertSameStatementCount(() -> reservationRepository.findAllDTOs().size());
+    }
+
+    @Test
+    void findDTOsByGuestIdDoesNotDependOnRowCount() {
+        assertSameStatementCount(() -> reservationRepository.findDTOsByGuestId(guest.getId()).stream()
+                .map(ReservationDTO::getRoomNumber).count());
+    }
+
+    @Test
+    void findDTOByIdIsOneStatement() {
+        Long id = createReservations(1).get(0).getId();
+        entityManager.clear();
+
+        statistics.clear();
+        assertThat(reservationRepository.findDTOById(id)).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findDetailedByIdLoadsGuestAndRoomInOneStatement() {
+        Long id = createReservations(1).get(0).getId();
+        entityManager.clear();
+
+        statistics.clear();
+        Reservation reservation = reservationRepository.findDetailedById(id).orElseThrow();
+        assertThat(reservation.getGuest().getLastName() + reservation.getRoom().getRoomNumber()).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Run a read over N and then 10×N reservations and compare the prepared statements.
+     */
+    private void assertSameStatementCount(CountingRead read) {
+        createReservations(N);
+        long small = countStatements(read, N);
+
+        createReservations(9 * N);
+        long large = countStatements(read, 10 * N);
+
+        assertThat(large).as("statements for %d vs %d reservations", 10 * N, N).isEqualTo(small);
+    }
+
+    private long countStatements(CountingRead read, int expectedAtLeast) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        assertThat(read.rows()).isGreaterThanOrEqualTo(expectedAtLeast);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Create reservations, each in its own room so that every row needs a different room.
+     */
+    private List<Reservation> createReservations(int count) {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        return Stream.generate(() -> {
+            int sequence = ++created;
+            Room room = new Room();
+            room.setRoomNumber("S" + sequence);
+            room.setRoomType(RoomType.SINGLE);
+            room.setPrice(new BigDecimal("75.00"));
+            room.setCapacity(1);
+            entityManager.persist(room);
+
+            Reservation reservation = new Reservation();
+            reservation.setGuest(guest);
+            reservation.setRoom(room);
+            reservation.setCheckInDate(checkIn);
+            reservation.setCheckOutDate(checkIn.plusDays(1));
+            reservation.setNumberOfGuests(1);
+            reservation.setNumberOfRooms(1);
+            reservation.setTotalPrice(room.getPrice());
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            entityManager.persist(reservation);
+            return reservation;
+        }).limit(count).toList();
+    }
+
+    @FunctionalInterface
+    private interface CountingRead {
+        long rows();
+    }
+}
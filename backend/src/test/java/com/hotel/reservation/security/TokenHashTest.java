@@ -0,0 +1,27 @@
+package com.hotel.reservation.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenHashTest {
+
+    @Test
+    void storedCopyIsNotOverwrittenByTheNextProbe() {
+        TokenHash stored = TokenHash.probe("header.payload.signature").copy();
+
+        assertThat(TokenHash.probe("header.payload.other")).isNotEqualTo(stored);
+        assertThat(TokenHash.probe("header.payload.signature")).isEqualTo(stored);
+    }
+
+    @Test
+    void tokensOutsideTheBufferHashLikeAnyOther() {
+        String nonAscii = "header.payéload.signature";
+        TokenHash stored = TokenHash.probe(nonAscii).copy();
+        String longToken = "x".repeat(10000);
+        TokenHash storedLong = TokenHash.probe(longToken).copy();
+
+        assertThat(TokenHash.probe(nonAscii)).isEqualTo(stored);
+        assertThat(TokenHash.probe(longToken)).isEqualTo(storedLong).isNotEqualTo(stored);
+    }
+}
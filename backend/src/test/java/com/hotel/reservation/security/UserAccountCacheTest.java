@@ -0,0 +1,50 @@
+package com.hotel.reservation.security;
+
+import com.hotel.reservation.entity.Role;
+import com.hotel.reservation.entity.User;
+import com.hotel.reservation.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserAccountCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserAccountCache cache = new UserAccountCache(userRepository, new SimpleMeterRegistry(), 100, 60);
+
+    @Test
+    void roleIsReadOncePerUser() {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user(Role.USER)));
+
+        assertThat(cache.findRole("alice")).contains(Role.USER);
+        assertThat(cache.findRole("alice")).contains(Role.USER);
+        verify(userRepository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void readOverlappingAnEvictionIsNotCached() {
+        // The role changes and its eviction commits while the old role is being read
+        when(userRepository.findByUsername("alice")).thenAnswer(invocation -> {
+            cache.evict("alice");
+            return Optional.of(user(Role.ADMIN));
+        }).thenReturn(Optional.of(user(Role.USER)));
+
+        assertThat(cache.findRole("alice")).contains(Role.ADMIN);
+        assertThat(cache.findRole("alice")).contains(Role.USER);
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    private static User user(Role role) {
+        User user = new User();
+        user.setUsername("alice");
+        user.setRole(role);
+        return user;
+    }
+}
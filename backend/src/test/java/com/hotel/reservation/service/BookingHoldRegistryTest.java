@@ -0,0 +1,78 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.exception.InvalidOperationException;
+import com.hotel.reservation.exception.RoomNotAvailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingHoldRegistryTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 1, 10);
+
+    private BookingHoldRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new BookingHoldRegistry();
+        ReflectionTestUtils.setField(registry, "maxActiveHolds", 100);
+    }
+
+    @Test
+    void releasedHoldsLeaveTheExpiryQueue() {
+        for (int i = 0; i < 1000; i++) {
+            BookingHoldRegistry.Hold hold = registry.place(1L, CHECK_IN, CHECK_IN.plusDays(2), Duration.ofMinutes(15));
+            registry.release(hold.getToken());
+        }
+
+        assertThat(expiryQueue()).isEmpty();
+        assertThat(registry.isHeld(1L, CHECK_IN, CHECK_IN.plusDays(2), null)).isFalse();
+    }
+
+    @Test
+    void overlappingHoldIsRejectedUntilReleased() {
+        BookingHoldRegistry.Hold hold = registry.place(1L, CHECK_IN, CHECK_IN.plusDays(3), Duration.ofMinutes(15));
+
+        assertThatThrownBy(() -> registry.place(1L, CHECK_IN.plusDays(2), CHECK_IN.plusDays(4), Duration.ofMinutes(15)))
+                .isInstanceOf(RoomNotAvailableException.class);
+
+        registry.release(hold.getToken());
+        registry.place(1L, CHECK_IN.plusDays(2), CHECK_IN.plusDays(4), Duration.ofMinutes(15));
+        assertThat(expiryQueue()).hasSize(1);
+    }
+
+    @Test
+    void sweepPurgesExpiredHolds() {
+        BookingHoldRegistry.Hold expired = registry.place(1L, CHECK_IN, CHECK_IN.plusDays(1), Duration.ofMillis(-1));
+        BookingHoldRegistry.Hold active = registry.place(2L, CHECK_IN, CHECK_IN.plusDays(1), Duration.ofMinutes(15));
+
+        registry.sweepExpired();
+
+        assertThat(expiryQueue()).hasSize(1);
+        assertThat(registry.find(expired.getToken())).isEmpty();
+        assertThat(registry.find(active.getToken())).isPresent();
+    }
+
+    @Test
+    void expiredHoldsDoNotCountAgainstTheLimit() {
+        ReflectionTestUtils.setField(registry, "maxActiveHolds", 1);
+        registry.place(1L, CHECK_IN, CHECK_IN.plusDays(1), Duration.ofMillis(-1));
+
+        BookingHoldRegistry.Hold hold = registry.place(2L, CHECK_IN, CHECK_IN.plusDays(1), Duration.ofMinutes(15));
+
+        assertThat(registry.find(hold.getToken())).isPresent();
+        assertThatThrownBy(() -> registry.place(3L, CHECK_IN, CHECK_IN.plusDays(1), Duration.ofMinutes(15)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private Collection<?> expiryQueue() {
+        return (Collection<?>) ReflectionTestUtils.getField(registry, "expiryQueue");
+    }
+}
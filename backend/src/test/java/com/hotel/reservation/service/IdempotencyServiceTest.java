@@ -0,0 +1,104 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.TestData;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void retryAfterLostResponseFindsTheOriginalBooking() {
+        ReservationRequest request = request("lost-response-key");
+        // The booking commits, but its response is never recorded
+        ReservationResponse original = reservationService.createReservation(request);
+
+        ReservationResponse retried = idempotencyService.execute(request.getIdempotencyKey(), request,
+                ReservationResponse.class, requestHash -> {
+                    throw new AssertionError("The booking must not run again");
+                }, reservationService::findCreatedReservation);
+
+        assertThat(retried.getReservation().getId()).isEqualTo(original.getReservation().getId());
+    }
+
+    @Test
+    void concurrentDuplicateRecoversTheBookingThatCommittedFirst() {
+        ReservationRequest request = request("concurrent-key");
+        // Another instance commits the same key between our lookup and our insert
+        AtomicBoolean lookedUp = new AtomicBoolean();
+        ReservationResponse original = reservationService.createReservation(request);
+
+        ReservationResponse retried = idempotencyService.execute(request.getIdempotencyKey(), request,
+                ReservationResponse.class, requestHash -> reservationService.createReservation(request),
+                key -> lookedUp.getAndSet(true) ? reservationService.findCreatedReservation(key) : Optional.empty());
+
+        assertThat(retried.getReservation().getId()).isEqualTo(original.getReservation().getId());
+    }
+
+    @Test
+    void recoveredBookingForADifferentRequestIsRejected() {
+        ReservationRequest request = request("reused-key");
+        reservationService.createReservation(request);
+        ReservationRequest different = request("reused-key");
+
+        assertThatThrownBy(() -> idempotencyService.execute(different.getIdempotencyKey(), different,
+                ReservationResponse.class, requestHash -> {
+                    throw new AssertionError("The booking must not run again");
+                }, reservationService::findCreatedReservation))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Idempotency key was already used for a different request");
+        // Nothing was recorded under the key, so the original request still recovers its booking
+        assertThat(idempotencyService.execute(request.getIdempotencyKey(), request, ReservationResponse.class,
+                requestHash -> {
+                    throw new AssertionError("The booking must not run again");
+                }, reservationService::findCreatedReservation).getReservation().getRoomId())
+                .isEqualTo(request.getRoomId());
+    }
+
+    @Test
+    void reservationKeyIsUnique() {
+        reservationService.createReservation(request("unique-key"));
+
+        assertThatThrownBy(() -> reservationService.createReservation(request("unique-key")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private ReservationRequest request(String idempotencyKey) {
+        Room room = testData.room(RoomType.SINGLE, "90.00");
+        Guest guest = testData.guest();
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        ReservationRequest request = new ReservationRequest(guest.getId(), room.getId(), checkIn, checkIn.plusDays(1),
+                1, 1, null, null, null, null);
+        request.setIdempotencyKey(idempotencyKey);
+        request.setIdempotencyRequestHash(idempotencyService.requestHash(request));
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package com.hotel.reservation.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageStorageServiceTest {
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Test
+    void deleteLeavesStorageDirectoriesAlone() throws Exception {
+        assertThat(imageStorageService.delete("tmp")).isFalse();
+        assertThat(imageStorageService.delete("blobs")).isFalse();
+        assertThat(imageStorageService.delete("variants")).isFalse();
+
+        assertThat(Files.isDirectory(imageStorageService.getTempDir())).isTrue();
+        assertThat(Files.isDirectory(imageStorageService.getBlobsDir())).isTrue();
+    }
+
+    @Test
+    void reuploadKeepsTheBlobWithoutTouchingItsFile() throws Exception {
+        byte[] content = "reuploaded image".getBytes(StandardCharsets.UTF_8);
+        ImageStorageService.StoredImage first = imageStorageService.store(new ByteArrayInputStream(content), "a.jpg");
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(2)));
+        Files.setLastModifiedTime(first.file(), old);
+
+        ImageStorageService.StoredImage second = imageStorageService.store(new ByteArrayInputStream(content), "b.jpg");
+
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(Files.getLastModifiedTime(second.file())).isEqualTo(old);
+        FileTime cutoff = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        assertThat(imageStorageService.deleteOrphanBlob(second.filename(), cutoff)).isFalse();
+        assertThat(second.file()).exists();
+    }
+}
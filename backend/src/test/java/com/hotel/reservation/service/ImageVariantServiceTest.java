@@ -0,0 +1,124 @@
+package com.hotel.reservation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantServiceTest {
+
+    private static final int RIGHT_TOP_ORIENTATION = 6;
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageVariantService = new ImageVariantService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(imageVariantService, "uploadDirectory", uploadDir.toString());
+        ReflectionTestUtils.setField(imageVariantService, "widths", new int[] {10});
+        ReflectionTestUtils.setField(imageVariantService, "jpegQuality", 0.9f);
+        ReflectionTestUtils.setField(imageVariantService, "workerCount", 1);
+        ReflectionTestUtils.setField(imageVariantService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(imageVariantService, "maxSourcePixels", 1_000_000L);
+        imageVariantService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.stop();
+    }
+
+    @Test
+    void variantsOfARotatedPhotoAreUpright() throws Exception {
+        // Stored 40x20 with red on the left; orientation 6 displays it rotated clockwise, red on top
+        Path original = uploadDir.resolve("photo.jpg");
+        Files.write(original, withExifOrientation(halves(40, 20), RIGHT_TOP_ORIENTATION));
+
+        BufferedImage variant = awaitVariant(original, 10);
+
+        assertThat(variant.getWidth()).isEqualTo(10);
+        assertThat(variant.getHeight()).isEqualTo(20);
+        assertThat(new Color(variant.getRGB(5, 2)).getRed()).isGreaterThan(200);
+        assertThat(new Color(variant.getRGB(5, 17)).getBlue()).isGreaterThan(200);
+    }
+
+    @Test
+    void variantsOfAnUntaggedPhotoKeepTheirShape() throws Exception {
+        Path original = uploadDir.resolve("plain.jpg");
+        Files.write(original, jpeg(halves(40, 20)));
+
+        BufferedImage variant = awaitVariant(original, 10);
+
+        assertThat(variant.getWidth()).isEqualTo(10);
+        assertThat(variant.getHeight()).isEqualTo(5);
+        assertThat(new Color(variant.getRGB(1, 2)).getRed()).isGreaterThan(200);
+        assertThat(new Color(variant.getRGB(8, 2)).getBlue()).isGreaterThan(200);
+    }
+
+    private BufferedImage awaitVariant(Path original, int width) throws Exception {
+        imageVariantService.generateAsync(original);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ImageVariantService.ResolvedImage resolved = imageVariantService.resolve(original, width);
+            if (!resolved.pending()) {
+                return ImageIO.read(resolved.file().toFile());
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Variant was not generated");
+    }
+
+    private static BufferedImage halves(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(width / 2, 0, width - width / 2, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Encode a JPEG and insert an EXIF APP1 segment holding only an orientation tag after its JFIF segment.
+     */
+    private static byte[] withExifOrientation(BufferedImage image, int orientation) throws IOException {
+        byte[] jpeg = jpeg(image);
+        ByteBuffer app1 = ByteBuffer.allocate(36);
+        app1.putShort((short) 0xFFE1).putShort((short) 34)
+                .put("Exif\0\0".getBytes())
+                .put(new byte[] {'M', 'M'}).putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+
+        int afterJfif = 4 + ((jpeg[4] & 0xFF) << 8 | (jpeg[5] & 0xFF));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(jpeg, 0, afterJfif);
+        output.write(app1.array());
+        output.write(jpeg, afterJfif, jpeg.length - afterJfif);
+        return output.toByteArray();
+    }
+}
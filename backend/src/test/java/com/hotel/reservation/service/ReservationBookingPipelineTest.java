@@ -0,0 +1,72 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.exception.InvalidOperationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReservationBookingPipelineTest {
+
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private ReservationBookingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new ReservationBookingPipeline(reservationService);
+        ReflectionTestUtils.setField(pipeline, "enabled", true);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 10);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 10);
+        ReflectionTestUtils.setField(pipeline, "lingerMillis", 1L);
+        ReflectionTestUtils.setField(pipeline, "responseTimeoutMillis", 50L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void timedOutRequestIsWithdrawnBeforeAnyWriterBooksIt() {
+        ReflectionTestUtils.setField(pipeline, "writerCount", 0);
+        pipeline.start();
+
+        assertThatThrownBy(() -> pipeline.book(request()))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("not made");
+
+        assertThat((Collection<?>) ReflectionTestUtils.getField(pipeline, "queue")).isEmpty();
+        verifyNoInteractions(reservationService);
+    }
+
+    @Test
+    void claimedRequestWaitsForItsOutcomePastTheTimeout() {
+        ReservationResponse response = new ReservationResponse(null, "Reservation created successfully", true);
+        when(reservationService.createReservations(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of(BookingOutcome.success(response));
+        });
+        ReflectionTestUtils.setField(pipeline, "writerCount", 1);
+        pipeline.start();
+
+        assertThat(pipeline.book(request())).isSameAs(response);
+    }
+
+    private static ReservationRequest request() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        return new ReservationRequest(1L, 1L, checkIn, checkIn.plusDays(1), 1, 1, null, null, null, null);
+    }
+}
@@ -0,0 +1,122 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.TestData;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.exception.RoomNotAvailableException;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires thousands of concurrent, overlapping bookings at a few rooms and checks that
+ * no two active reservations ever share a night.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class ReservationConcurrencyTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void concurrentOverlappingBookingsNeverShareANight() throws Exception {
+        List<Room> rooms = List.of(testData.room(RoomType.DOUBLE, "100.00"), testData.room(RoomType.DOUBLE, "100.00"),
+                testData.room(RoomType.SUITE, "200.00"));
+        Guest guest = testData.guest();
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        Random random = new Random(42);
+        List<ReservationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDate checkIn = start.plusDays(random.nextInt(30));
+            requests.add(new ReservationRequest(guest.getId(), rooms.get(random.nextInt(rooms.size())).getId(),
+                    checkIn, checkIn.plusDays(1 + random.nextInt(4)), 1, 1, null, null, null, null));
+        }
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ReservationRequest request : requests) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        reservationService.createReservation(request);
+                        booked.incrementAndGet();
+                    } catch (RoomNotAvailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(booked.get() + rejected.get()).isEqualTo(REQUESTS);
+        assertThat(booked.get()).isPositive();
+        assertThat(rejected.get()).isPositive();
+
+        Set<Long> roomIds = rooms.stream().map(Room::getId).collect(Collectors.toSet());
+        List<Reservation> active = reservationRepository.findAll().stream()
+                .filter(reservation -> roomIds.contains(reservation.getRoom().getId()))
+                .filter(reservation -> ReservationStatus.ROOM_BLOCKING.contains(reservation.getStatus()))
+                .toList();
+        assertThat(active).hasSize(booked.get());
+
+        for (Long roomId : roomIds) {
+            List<Reservation> stays = active.stream()
+                    .filter(reservation -> reservation.getRoom().getId().equals(roomId))
+                    .sorted(Comparator.comparing(Reservation::getCheckInDate))
+                    .toList();
+            for (int i = 1; i < stays.size(); i++) {
+                assertThat(stays.get(i).getCheckInDate())
+                        .as("stay %d of room %d starts after the previous stay ends", i, roomId)
+                        .isAfterOrEqualTo(stays.get(i - 1).getCheckOutDate());
+            }
+            long nights = stays.stream()
+                    .mapToLong(reservation -> ChronoUnit.DAYS.between(reservation.getCheckInDate(), reservation.getCheckOutDate()))
+                    .sum();
+            assertThat(roomNightRepository.countBookedNights(roomId, start, start.plusDays(40))).isEqualTo(nights);
+        }
+    }
+}
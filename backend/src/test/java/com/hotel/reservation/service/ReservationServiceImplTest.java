@@ -0,0 +1,90 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.TestData;
+import com.hotel.reservation.dto.ReservationDTO;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.entity.Guest;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.entity.ReservationStatus;
+import com.hotel.reservation.entity.Room;
+import com.hotel.reservation.entity.RoomType;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class ReservationServiceImplTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void updatingACompletedReservationLeavesTheInventoryAlone() {
+        Room room = testData.room(RoomType.SINGLE, "80.00");
+        Guest guest = testData.guest();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        ReservationDTO created = reservationService.createReservation(
+                new ReservationRequest(guest.getId(), room.getId(), checkIn, checkIn.plusDays(2), 1, 1, null, null, null, null)).getReservation();
+
+        Reservation reservation = reservationRepository.findById(created.getId()).orElseThrow();
+        reservation.setStatus(ReservationStatus.COMPLETED);
+        reservationRepository.save(reservation);
+        roomNightRepository.deleteAll(roomNightRepository.findAll().stream()
+                .filter(night -> night.getReservation().getId().equals(created.getId()))
+                .toList());
+
+        reservationService.updateReservation(created.getId(),
+                new ReservationRequest(guest.getId(), room.getId(), checkIn.plusDays(5), checkIn.plusDays(7), 1, 1, null, null, null, null));
+
+        assertThat(roomNightRepository.countBookedNights(room.getId(), checkIn, checkIn.plusDays(10))).isZero();
+        assertThat(reservationService.checkRoomAvailability(room.getId(), checkIn.plusDays(5), checkIn.plusDays(7))).isTrue();
+    }
+
+    @Test
+    void batchBookingStoresEachWinnerUnderItsGeneratedId() {
+        Room room = testData.room(RoomType.DOUBLE, "100.00");
+        Guest guest = testData.guest();
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+        ReservationRequest first = new ReservationRequest(guest.getId(), room.getId(), checkIn, checkIn.plusDays(2), 1, 1, null, null, null, null);
+        ReservationRequest overlapping = new ReservationRequest(guest.getId(), room.getId(), checkIn.plusDays(1), checkIn.plusDays(3), 1, 1, null, null, null, null);
+        ReservationRequest later = new ReservationRequest(guest.getId(), room.getId(), checkIn.plusDays(2), checkIn.plusDays(5), 2, 1, "Late arrival", null, null, null);
+        later.setIdempotencyKey("batch-" + room.getId());
+
+        List<BookingOutcome> outcomes = reservationService.createReservations(List.of(first, overlapping, later));
+
+        assertThat(outcomes).extracting(BookingOutcome::isSuccess).containsExactly(true, false, true);
+        ReservationDTO firstBooked = outcomes.get(0).getResponse().getReservation();
+        ReservationDTO laterBooked = outcomes.get(2).getResponse().getReservation();
+        assertThat(firstBooked.getId()).isNotEqualTo(laterBooked.getId());
+
+        Reservation stored = reservationRepository.findById(laterBooked.getId()).orElseThrow();
+        assertThat(stored.getCheckInDate()).isEqualTo(later.getCheckInDate());
+        assertThat(stored.getNumberOfGuests()).isEqualTo(2);
+        assertThat(stored.getSpecialRequests()).isEqualTo("Late arrival");
+        assertThat(stored.getStatus()).isEqualTo(ReservationStatus.PENDING);
+        assertThat(stored.getIdempotencyKey()).isEqualTo("batch-" + room.getId());
+        assertThat(reservationRepository.findById(firstBooked.getId()).orElseThrow().getCheckOutDate())
+                .isEqualTo(first.getCheckOutDate());
+        assertThat(roomNightRepository.countBookedNights(room.getId(), checkIn, checkIn.plusDays(10))).isEqualTo(5);
+    }
+}
@@ -7,12 +7,16 @@ interface RoomCardProps {
   room: Room;
 }
 
+// Uploaded images can be served downscaled; external URLs are used as they are
+const thumbnailUrl = (url: string): string =>
+  url.startsWith('/api/images/') ? `${url}?w=640` : url;
+
 const RoomCard: React.FC<RoomCardProps> = ({ room }) => {
   return (
     <div className="room-card">
       {room.imageUrl && (
         <div className="room-card-image">
-          <img src={room.imageUrl} alt={`Room ${room.roomNumber}`} />
+          <img src={thumbnailUrl(room.imageUrl)} alt={`Room ${room.roomNumber}`} />
         </div>
       )}
       <div className="room-card-header">
@@ -20,12 +20,8 @@ const RoomDetails: React.FC = () => {
   const { register, handleSubmit, formState: { errors }, watch } = useForm<Omit<ReservationRequest, 'guestId' | 'roomId'>>();
 
   const getImageUrls = (room: Room): string[] => {
-    if (room.imageUrls) {
-      try {
-        return JSON.parse(room.imageUrls);
-      } catch (e) {
-        console.error('Error parsing imageUrls:', e);
-      }
+    if (room.images && room.images.length > 0) {
+      return room.images.map((image) => image.url);
     }
     return room.imageUrl ? [room.imageUrl] : [];
   };
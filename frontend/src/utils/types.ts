@@ -69,10 +69,17 @@ export interface Room {
   capacity: number;
   description?: string;
   imageUrl?: string;
-  imageUrls?: string;
+  images?: RoomImage[];
   isAvailable: boolean;
 }
 
+export interface RoomImage {
+  id: number;
+  url: string;
+  position: number;
+  variantWidths: number[];
+}
+
 export interface RoomSearchCriteria {
   roomType?: RoomType;
   minPrice?: number;